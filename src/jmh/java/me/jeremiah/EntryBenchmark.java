@@ -0,0 +1,42 @@
+package me.jeremiah;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class EntryBenchmark {
+
+  private Entry entry;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    entry = new Entry(42);
+    bytes = entry.bytes();
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return entry.bytes();
+  }
+
+  @Benchmark
+  public Entry decode() {
+    return new Entry(42, bytes);
+  }
+
+  @Benchmark
+  public Document toDocument() {
+    return entry.toDocument();
+  }
+
+  @Benchmark
+  public Document toByteDocument() {
+    return entry.toByteDocument();
+  }
+
+}
@@ -0,0 +1,26 @@
+package me.jeremiah.databases.nosql;
+
+import me.jeremiah.Entry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RedisBenchmark {
+
+  private Entry entry;
+
+  @Setup
+  public void setup() {
+    entry = new Entry(42);
+  }
+
+  @Benchmark
+  public Map<String, String> toHash() {
+    return Redis.toHash(entry);
+  }
+
+}
@@ -0,0 +1,85 @@
+package me.jeremiah.databases.sql;
+
+import me.jeremiah.Entry;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class SQLStatementHandlerBenchmark {
+
+  private SQLStatementHandler handler;
+  private SQLStatementHandler byteHandler;
+  private Entry entry;
+  private StubPreparedStatement preparedStatement;
+  private ResultSet resultSet;
+  private ResultSet byteResultSet;
+
+  @Setup
+  public void setup() {
+    handler = new SQLStatementHandler();
+    byteHandler = new ByteStatementHandler();
+    entry = new Entry(42);
+    preparedStatement = new StubPreparedStatement();
+    resultSet = new StubResultSet(Map.of(
+      "first_name", entry.getFirstName(),
+      "middle_initial", String.valueOf(entry.getMiddleInitial()),
+      "last_name", entry.getLastName(),
+      "age", entry.getAge(),
+      "net_worth", entry.getNetWorth()
+    ));
+    byteResultSet = new StubResultSet(Map.of("data", entry.bytes()));
+  }
+
+  @Benchmark
+  public PreparedStatement parseInsert() throws SQLException {
+    handler.parseInsert(entry, preparedStatement);
+    return preparedStatement;
+  }
+
+  @Benchmark
+  public PreparedStatement parseByteInsert() throws SQLException {
+    byteHandler.parseInsert(entry, preparedStatement);
+    return preparedStatement;
+  }
+
+  @Benchmark
+  public PreparedStatement parseUpdate() throws SQLException {
+    handler.parseUpdate(entry, preparedStatement);
+    return preparedStatement;
+  }
+
+  @Benchmark
+  public Entry deserializeEntry() throws SQLException {
+    return handler.deserializeEntry(42, resultSet);
+  }
+
+  @Benchmark
+  public Entry deserializeByteEntry() throws SQLException {
+    return byteHandler.deserializeEntry(42, byteResultSet);
+  }
+
+
+  // The byte adapters' bind and read paths, without the connection pool an adapter instance would configure
+  private static final class ByteStatementHandler extends SQLStatementHandler {
+
+    @Override
+    protected void parseInsert(Entry entry, PreparedStatement preparedStatement, int offset) throws SQLException {
+      preparedStatement.setInt(offset + 1, entry.getId());
+      preparedStatement.setBytes(offset + 2, entry.bytes());
+    }
+
+    @Override
+    protected Entry deserializeEntry(int id, ResultSet resultSet) throws SQLException {
+      return new Entry(id, resultSet.getBytes("data"));
+    }
+
+  }
+
+}
@@ -0,0 +1,454 @@
+package me.jeremiah.databases.sql;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+
+// No-op PreparedStatement that keeps the last bound values, so bind paths can be measured without a driver,
+// a round trip, or the argument boxing a reflective proxy would add
+final class StubPreparedStatement implements PreparedStatement {
+
+  private static final int SLOTS = 8;
+
+  private final long[] numbers = new long[SLOTS];
+  private final Object[] objects = new Object[SLOTS];
+
+  @Override
+  public void setInt(int parameterIndex, int x) {
+    numbers[parameterIndex % SLOTS] = x;
+  }
+
+  @Override
+  public void setDouble(int parameterIndex, double x) {
+    numbers[parameterIndex % SLOTS] = Double.doubleToRawLongBits(x);
+  }
+
+  @Override
+  public void setString(int parameterIndex, String x) {
+    objects[parameterIndex % SLOTS] = x;
+  }
+
+  @Override
+  public void setBytes(int parameterIndex, byte[] x) {
+    objects[parameterIndex % SLOTS] = x;
+  }
+
+  @Override
+  public void addBatch() {
+  }
+
+  @Override
+  public void clearParameters() {
+  }
+
+  @Override
+  public ResultSet executeQuery() {
+    return null;
+  }
+
+  @Override
+  public int executeUpdate() {
+    return 0;
+  }
+
+  @Override
+  public boolean execute() {
+    return false;
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() {
+    return null;
+  }
+
+  @Override
+  public ParameterMetaData getParameterMetaData() {
+    return null;
+  }
+
+  @Override
+  public void setArray(int parameterIndex, Array x) {
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x, int length) {
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x, long length) {
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x) {
+  }
+
+  @Override
+  public void setBigDecimal(int parameterIndex, BigDecimal x) {
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x, int length) {
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x, long length) {
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x) {
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, InputStream x, long length) {
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, InputStream x) {
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, Blob x) {
+  }
+
+  @Override
+  public void setBoolean(int parameterIndex, boolean x) {
+  }
+
+  @Override
+  public void setByte(int parameterIndex, byte x) {
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader x, int length) {
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader x, long length) {
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader x) {
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Reader x, long length) {
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Reader x) {
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Clob x) {
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date x, Calendar cal) {
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date x) {
+  }
+
+  @Override
+  public void setFloat(int parameterIndex, float x) {
+  }
+
+  @Override
+  public void setLong(int parameterIndex, long x) {
+  }
+
+  @Override
+  public void setNCharacterStream(int parameterIndex, Reader x, long length) {
+  }
+
+  @Override
+  public void setNCharacterStream(int parameterIndex, Reader x) {
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, Reader x, long length) {
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, Reader x) {
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, NClob x) {
+  }
+
+  @Override
+  public void setNString(int parameterIndex, String x) {
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType, String typeName) {
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType) {
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) {
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, int targetSqlType) {
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x) {
+  }
+
+  @Override
+  public void setRef(int parameterIndex, Ref x) {
+  }
+
+  @Override
+  public void setRowId(int parameterIndex, RowId x) {
+  }
+
+  @Override
+  public void setSQLXML(int parameterIndex, SQLXML x) {
+  }
+
+  @Override
+  public void setShort(int parameterIndex, short x) {
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time x, Calendar cal) {
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time x) {
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) {
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x) {
+  }
+
+  @Override
+  public void setURL(int parameterIndex, URL x) {
+  }
+
+  @Deprecated
+  @Override
+  public void setUnicodeStream(int parameterIndex, InputStream x, int length) {
+  }
+
+  @Override
+  public void addBatch(String sql) {
+  }
+
+  @Override
+  public void cancel() {
+  }
+
+  @Override
+  public void clearBatch() {
+  }
+
+  @Override
+  public void clearWarnings() {
+  }
+
+  @Override
+  public void closeOnCompletion() {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  @Override
+  public int[] executeBatch() {
+    return null;
+  }
+
+  @Override
+  public ResultSet executeQuery(String sql) {
+    return null;
+  }
+
+  @Override
+  public int executeUpdate(String sql, int[] columnIndexes) {
+    return 0;
+  }
+
+  @Override
+  public int executeUpdate(String sql, String[] columnNames) {
+    return 0;
+  }
+
+  @Override
+  public int executeUpdate(String sql, int autoGeneratedKeys) {
+    return 0;
+  }
+
+  @Override
+  public int executeUpdate(String sql) {
+    return 0;
+  }
+
+  @Override
+  public boolean execute(String sql, int[] columnIndexes) {
+    return false;
+  }
+
+  @Override
+  public boolean execute(String sql, String[] columnNames) {
+    return false;
+  }
+
+  @Override
+  public boolean execute(String sql, int autoGeneratedKeys) {
+    return false;
+  }
+
+  @Override
+  public boolean execute(String sql) {
+    return false;
+  }
+
+  @Override
+  public Connection getConnection() {
+    return null;
+  }
+
+  @Override
+  public int getFetchDirection() {
+    return 0;
+  }
+
+  @Override
+  public int getFetchSize() {
+    return 0;
+  }
+
+  @Override
+  public ResultSet getGeneratedKeys() {
+    return null;
+  }
+
+  @Override
+  public int getMaxFieldSize() {
+    return 0;
+  }
+
+  @Override
+  public int getMaxRows() {
+    return 0;
+  }
+
+  @Override
+  public boolean getMoreResults() {
+    return false;
+  }
+
+  @Override
+  public boolean getMoreResults(int current) {
+    return false;
+  }
+
+  @Override
+  public int getQueryTimeout() {
+    return 0;
+  }
+
+  @Override
+  public int getResultSetConcurrency() {
+    return 0;
+  }
+
+  @Override
+  public int getResultSetHoldability() {
+    return 0;
+  }
+
+  @Override
+  public int getResultSetType() {
+    return 0;
+  }
+
+  @Override
+  public ResultSet getResultSet() {
+    return null;
+  }
+
+  @Override
+  public int getUpdateCount() {
+    return 0;
+  }
+
+  @Override
+  public SQLWarning getWarnings() {
+    return null;
+  }
+
+  @Override
+  public boolean isCloseOnCompletion() {
+    return false;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return false;
+  }
+
+  @Override
+  public boolean isPoolable() {
+    return false;
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) {
+    return false;
+  }
+
+  @Override
+  public void setCursorName(String name) {
+  }
+
+  @Override
+  public void setEscapeProcessing(boolean enable) {
+  }
+
+  @Override
+  public void setFetchDirection(int value) {
+  }
+
+  @Override
+  public void setFetchSize(int value) {
+  }
+
+  @Override
+  public void setMaxFieldSize(int value) {
+  }
+
+  @Override
+  public void setMaxRows(int value) {
+  }
+
+  @Override
+  public void setPoolable(boolean enable) {
+  }
+
+  @Override
+  public void setQueryTimeout(int value) {
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) {
+    return null;
+  }
+}
@@ -0,0 +1,44 @@
+package me.jeremiah;
+
+import me.jeremiah.utils.EntryGenerator;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// The entries expected in [fromId, toId), generated lazily so the dataset never has to fit in memory
+public record Dataset(EntryGenerator generator, int fromId, int toId, IntUnaryOperator revisions) {
+
+  public Dataset(EntryGenerator generator, int fromId, int toId) {
+    this(generator, fromId, toId, _ -> 0);
+  }
+
+  public int size() {
+    return Math.max(0, toId - fromId);
+  }
+
+  public boolean contains(int id) {
+    return id >= fromId && id < toId;
+  }
+
+  public @Nullable Entry get(int id) {
+    return contains(id) ? generator.generate(id, revisions.applyAsInt(id)) : null;
+  }
+
+  public Entry[] chunk(int from, int to) {
+    Entry[] entries = new Entry[to - from];
+    for (int i = 0; i < entries.length; i++)
+      entries[i] = generator.generate(from + i, revisions.applyAsInt(from + i));
+    return entries;
+  }
+
+  public Stream<Entry[]> chunks(int chunkSize) {
+    int chunks = (size() + chunkSize - 1) / chunkSize;
+    return IntStream.range(0, chunks).mapToObj(chunk -> {
+      int from = fromId + chunk * chunkSize;
+      return chunk(from, Math.min(from + chunkSize, toId));
+    });
+  }
+
+}
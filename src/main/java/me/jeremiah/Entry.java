@@ -8,6 +8,8 @@ import org.bson.Document;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @AllArgsConstructor
 @Setter
@@ -43,12 +45,16 @@ public class Entry {
   }
 
   public Entry(int id) {
+    this(id, ThreadLocalRandom.current());
+  }
+
+  public Entry(int id, RandomGenerator random) {
     this(id,
-      EntryGeneratorUtils.generateFirstName(),
-      EntryGeneratorUtils.generateMiddleInitial(),
-      EntryGeneratorUtils.generateLastName(),
-      EntryGeneratorUtils.generateAge(),
-      EntryGeneratorUtils.generateNetWorth()
+      EntryGeneratorUtils.generateFirstName(random),
+      EntryGeneratorUtils.generateMiddleInitial(random),
+      EntryGeneratorUtils.generateLastName(random),
+      EntryGeneratorUtils.generateAge(random),
+      EntryGeneratorUtils.generateNetWorth(random)
     );
   }
 
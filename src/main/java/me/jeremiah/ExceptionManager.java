@@ -11,7 +11,7 @@ public class ExceptionManager {
 
   private static final List<LoggedException> loggedExceptions = new ArrayList<>();
 
-  public static void handleException(Database database, Exception exception) {
+  public static synchronized void handleException(Database database, Exception exception) {
     LoggedException loggedException = new LoggedException(database, exception);
     printException(loggedException);
     loggedExceptions.add(loggedException);
@@ -25,11 +25,11 @@ public class ExceptionManager {
     System.out.printf("%n==========================%n%n");
   }
 
-  public static List<LoggedException> collectLoggedExceptions() {
+  public static synchronized List<LoggedException> collectLoggedExceptions() {
     return new ArrayList<>(loggedExceptions);
   }
 
-  public static void clearLoggedExceptions() {
+  public static synchronized void clearLoggedExceptions() {
     loggedExceptions.clear();
   }
 
@@ -4,16 +4,21 @@ import me.jeremiah.databases.Database;
 import me.jeremiah.databases.nosql.*;
 import me.jeremiah.databases.sql.*;
 import me.jeremiah.testing.TestCluster;
+import me.jeremiah.testing.TestSettings;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
 
 public final class Main {
 
   private static final File LOG_DIRECTORY = new File("P:/IntelliJProjects/DatabasePerformance/.logs/");
 
   public static void main(String[] ignored) {
-    TestCluster cluster = TestCluster.test(getDatabaseStack(), 1_000);//, 10_000);
+    TestCluster cluster = TestCluster.test(getDatabaseStack(), new TestSettings(), 1_000);//, 10_000);
     cluster.start();
     cluster.createLog();
 
@@ -26,18 +31,73 @@ public final class Main {
     return List.of(
       new SQLite(), new ByteSQLite(),
       new H2(), new ByteH2(),
+      new H2(H2.Profile.IN_MEMORY), new ByteH2(H2.Profile.IN_MEMORY),
+      new H2(H2.Profile.TUNED), new ByteH2(H2.Profile.TUNED),
+      new H2(H2.Profile.COMPRESSED), new ByteH2(H2.Profile.COMPRESSED),
       new MySQL(), new ByteMySQL(),
       new MariaDB(), new ByteMariaDB(),
       new PostgreSQL(), new BytePostgreSQL(),
       new MicrosoftSQL(), new ByteMicrosoftSQL(),
       new OracleDB(), new ByteOracleDB(),
       new MongoDB(), new ByteMongoDB(),
-      new Redis(), new ByteRedis(),
+      new Redis(), new ByteRedis(), new BucketRedis(),
       new Neo4j(), new ByteNeo4j(),
       new Cassandra(), new ByteCassandra()
     );
   }
 
+  public static List<Database> getInsertStrategyStack() {
+    return getStrategyStack(InsertStrategy.values(), AbstractSQLDatabase::supports, AbstractSQLDatabase::setInsertStrategy);
+  }
+
+  public static List<Database> getRemoveStrategyStack() {
+    return getStrategyStack(RemoveStrategy.values(), AbstractSQLDatabase::supports, AbstractSQLDatabase::setRemoveStrategy);
+  }
+
+  public static List<Database> getUpdateStrategyStack() {
+    return getStrategyStack(UpdateStrategy.values(), AbstractSQLDatabase::supports, AbstractSQLDatabase::setUpdateStrategy);
+  }
+
+  public static List<Database> getSQLiteProfileStack() {
+    List<Database> databases = new ArrayList<>();
+    for (SQLite.Profile profile : SQLite.Profile.values()) {
+      databases.add(new SQLite(profile));
+      databases.add(new ByteSQLite(profile));
+    }
+    return databases;
+  }
+
+  public static List<Database> getCassandraWriteModeStack() {
+    List<Database> databases = new ArrayList<>();
+    for (CassandraWriteMode writeMode : CassandraWriteMode.values()) {
+      databases.add(new Cassandra(writeMode));
+      databases.add(new ByteCassandra(writeMode));
+    }
+    return databases;
+  }
+
+  private static <S> List<Database> getStrategyStack(S[] strategies, BiPredicate<AbstractSQLDatabase, S> supports, BiConsumer<AbstractSQLDatabase, S> setter) {
+    List<Supplier<AbstractSQLDatabase>> suppliers = List.of(
+      SQLite::new, ByteSQLite::new,
+      H2::new, ByteH2::new,
+      MySQL::new, ByteMySQL::new,
+      MariaDB::new, ByteMariaDB::new,
+      PostgreSQL::new, BytePostgreSQL::new,
+      MicrosoftSQL::new, ByteMicrosoftSQL::new,
+      OracleDB::new, ByteOracleDB::new
+    );
+    List<Database> databases = new ArrayList<>();
+    for (Supplier<AbstractSQLDatabase> supplier : suppliers)
+      for (S strategy : strategies) {
+        AbstractSQLDatabase database = supplier.get();
+        if (!supports.test(database, strategy))
+          continue;
+        setter.accept(database, strategy);
+        databases.add(database);
+      }
+    return databases;
+  }
+
   public static File getLogDir() {
     if (!LOG_DIRECTORY.exists())
       LOG_DIRECTORY.mkdirs();
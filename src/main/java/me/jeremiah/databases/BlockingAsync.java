@@ -0,0 +1,24 @@
+package me.jeremiah.databases;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+// Fallback for drivers without an async API: each blocking call gets its own virtual thread
+final class BlockingAsync {
+
+  private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+  private BlockingAsync() {
+  }
+
+  static CompletableFuture<Void> run(Runnable action) {
+    return CompletableFuture.runAsync(action, EXECUTOR);
+  }
+
+  static <T> CompletableFuture<T> supply(Supplier<T> action) {
+    return CompletableFuture.supplyAsync(action, EXECUTOR);
+  }
+
+}
@@ -1,15 +1,23 @@
 package me.jeremiah.databases;
 
+import me.jeremiah.Dataset;
 import me.jeremiah.Entry;
 import me.jeremiah.ExceptionManager;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface Database {
 
   default String getName() {
+    return getBaseName();
+  }
+
+  default String getBaseName() {
     return getClass().getSimpleName();
   }
 
@@ -23,6 +31,8 @@ public interface Database {
 
   void update(@NotNull Entry @NotNull ... entry);
 
+  void upsert(@NotNull Entry @NotNull ... entries);
+
   default void remove(@NotNull Entry @NotNull ... entries) {
     Integer[] ids = new Integer[entries.length];
     Arrays.setAll(ids, i -> entries[i].getId());
@@ -37,8 +47,51 @@ public interface Database {
 
   boolean exists(int id);
 
+  boolean[] existsAll(int... ids);
+
+  default CompletableFuture<Void> insertAsync(@NotNull Entry @NotNull ... entries) {
+    return BlockingAsync.run(() -> insert(entries));
+  }
+
+  default CompletableFuture<Void> updateAsync(@NotNull Entry @NotNull ... entries) {
+    return BlockingAsync.run(() -> update(entries));
+  }
+
+  default CompletableFuture<Void> upsertAsync(@NotNull Entry @NotNull ... entries) {
+    return BlockingAsync.run(() -> upsert(entries));
+  }
+
+  default CompletableFuture<Void> removeAsync(@NotNull Integer @NotNull ... ids) {
+    return BlockingAsync.run(() -> remove(ids));
+  }
+
+  default CompletableFuture<Boolean> existsAsync(int id) {
+    return BlockingAsync.supply(() -> exists(id));
+  }
+
+  default CompletableFuture<boolean[]> existsAllAsync(int... ids) {
+    return BlockingAsync.supply(() -> existsAll(ids));
+  }
+
+  default CompletableFuture<Map<Integer, Entry>> selectByIdsAsync(int... ids) {
+    return BlockingAsync.supply(() -> selectByIds(ids));
+  }
+
   Map<Integer, Entry> select();
 
+  Map<Integer, Entry> select(int fromId, int toId);
+
+  Map<Integer, Entry> selectByIds(int... ids);
+
+  void stream(int fetchSize, @NotNull Consumer<Entry[]> consumer);
+
+  static boolean[] present(int[] ids, Set<Integer> found) {
+    boolean[] present = new boolean[ids.length];
+    for (int i = 0; i < ids.length; i++)
+      present[i] = found.contains(ids[i]);
+    return present;
+  }
+
   default boolean verifyData(@NotNull Entry @NotNull ... entries) {
     Map<Integer, Entry> existingEntries = select();
     if (entries.length != existingEntries.size()) {
@@ -48,4 +101,8 @@ public interface Database {
     return Arrays.stream(entries).allMatch(entry -> entry.equals(existingEntries.get(entry.getId())));
   }
 
+  default VerificationResult verify(@NotNull Dataset expected, int fetchSize, int parallelism) {
+    return new StreamingVerifier(expected, parallelism).verify(this, fetchSize);
+  }
+
 }
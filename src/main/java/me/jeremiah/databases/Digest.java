@@ -0,0 +1,124 @@
+package me.jeremiah.databases;
+
+import me.jeremiah.Dataset;
+import me.jeremiah.Entry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Order-independent digest of a dataset: the row count, the id sum and the sum of a per-row hash over every column.
+// The hash only uses integer addition and multiplication modulo 2^31, with every product kept below 2^63, so SQL,
+// aggregation pipelines, Cypher and Redis Lua can all compute it server-side and agree with this class exactly.
+// A row's value at each position (a character, a byte, the age, the scaled net worth) is weighted by a per-position
+// constant, and the row's sum is mixed with its id so swapping contents between rows changes the digest.
+// Character codes match across engines for ASCII text, which is all the generator produces
+public record Digest(long count, long idSum, long hashSum) {
+
+  public static final long MODULUS = 1L << 31;
+  // Net worth scaled by a power of two before flooring, which is exact in every engine that stores a binary double
+  public static final long NET_WORTH_SCALE = 1L << 26;
+  // Longest value the schemas allow for a name, and the longest Entry.bytes() those names produce
+  public static final int NAME_LENGTH = 32;
+  public static final int MAX_BYTES = 1 + NAME_LENGTH + 2 + 1 + NAME_LENGTH + 4 + 8;
+
+  // Positions of the FIELDS layout; the names take positions 1..NAME_LENGTH and NAME_LENGTH+1..2*NAME_LENGTH
+  public static final int FIRST_NAME_OFFSET = 0;
+  public static final int LAST_NAME_OFFSET = NAME_LENGTH;
+  public static final int INITIAL_POSITION = 2 * NAME_LENGTH + 1;
+  public static final int AGE_POSITION = INITIAL_POSITION + 1;
+  public static final int NET_WORTH_POSITION = AGE_POSITION + 1;
+
+  private static final long BASE = 1_000_003;
+  private static final long[] WEIGHTS = new long[Math.max(MAX_BYTES, NET_WORTH_POSITION) + 1];
+
+  static {
+    WEIGHTS[0] = 1;
+    for (int position = 1; position < WEIGHTS.length; position++)
+      WEIGHTS[position] = WEIGHTS[position - 1] * BASE % MODULUS;
+  }
+
+  public static final Digest EMPTY = new Digest(0, 0, 0);
+
+  public Digest {
+    idSum = Math.floorMod(idSum, MODULUS);
+    hashSum = Math.floorMod(hashSum, MODULUS);
+  }
+
+  public static long weight(int position) {
+    return WEIGHTS[position];
+  }
+
+  public static List<Long> weights() {
+    List<Long> weights = new ArrayList<>(WEIGHTS.length);
+    for (long weight : WEIGHTS)
+      weights.add(weight);
+    return weights;
+  }
+
+  public static Digest of(Dataset dataset, Mode mode) {
+    return dataset.chunks(10_000).parallel()
+      .map(chunk -> of(mode, chunk))
+      .reduce(EMPTY, Digest::add);
+  }
+
+  public static Digest of(Mode mode, Entry... entries) {
+    long idSum = 0, hashSum = 0;
+    for (Entry entry : entries) {
+      idSum += entry.getId();
+      hashSum += rowHash(entry.getId(), switch (mode) {
+        case FIELDS -> fieldsHash(entry);
+        case BYTES -> bytesHash(entry.bytes());
+      });
+    }
+    return new Digest(entries.length, idSum, hashSum);
+  }
+
+  static long fieldsHash(Entry entry) {
+    return stringHash(entry.getFirstName(), FIRST_NAME_OFFSET)
+      + stringHash(entry.getLastName(), LAST_NAME_OFFSET)
+      + term(entry.getMiddleInitial(), INITIAL_POSITION)
+      + term(entry.getAge(), AGE_POSITION)
+      + term((long) Math.floor(entry.getNetWorth() * NET_WORTH_SCALE), NET_WORTH_POSITION);
+  }
+
+  static long bytesHash(byte[] data) {
+    long hash = 0;
+    for (int i = 0; i < data.length; i++)
+      hash += term(data[i] & 0xFF, i + 1);
+    return hash;
+  }
+
+  private static long stringHash(String value, int offset) {
+    long hash = 0;
+    for (int i = 0; i < value.length(); i++)
+      hash += term(value.charAt(i), offset + i + 1);
+    return hash;
+  }
+
+  private static long term(long value, int position) {
+    return Math.floorMod(value, MODULUS) * WEIGHTS[position] % MODULUS;
+  }
+
+  static long rowHash(long id, long contentHash) {
+    return Math.floorMod(contentHash + id, MODULUS) * Math.floorMod(2 * id + 1, MODULUS) % MODULUS;
+  }
+
+  public Digest add(Digest other) {
+    return new Digest(count + other.count, idSum + other.idSum, hashSum + other.hashSum);
+  }
+
+  public DigestComparison compare(Digest actual) {
+    List<String> differences = new ArrayList<>();
+    if (idSum != actual.idSum) differences.add("ids");
+    if (hashSum != actual.hashSum) differences.add("content");
+    return new DigestComparison(count, actual.count, differences);
+  }
+
+  public enum Mode {
+
+    FIELDS,
+    BYTES
+
+  }
+
+}
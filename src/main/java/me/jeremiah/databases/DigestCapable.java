@@ -0,0 +1,12 @@
+package me.jeremiah.databases;
+
+// Implemented by engines that can aggregate a Digest of their stored rows server-side
+public interface DigestCapable {
+
+  Digest digest();
+
+  default Digest.Mode getDigestMode() {
+    return Digest.Mode.FIELDS;
+  }
+
+}
@@ -0,0 +1,36 @@
+package me.jeremiah.databases;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.List;
+
+// Row counts and differing digest fields are kept apart; a field difference says which sum disagrees, not how many rows
+public record DigestComparison(long expectedRows, long actualRows, List<String> differingFields) {
+
+  public DigestComparison {
+    differingFields = List.copyOf(differingFields);
+  }
+
+  public boolean passed() {
+    return expectedRows == actualRows && differingFields.isEmpty();
+  }
+
+  public String describe() {
+    if (passed())
+      return "Passed (" + actualRows + " rows)";
+    return String.format("Failed (%d rows expected, %d found; differing fields %s)", expectedRows, actualRows, differingFields);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    json.addProperty("Passed", passed());
+    json.addProperty("Expected_Rows", expectedRows);
+    json.addProperty("Actual_Rows", actualRows);
+    JsonArray fields = new JsonArray();
+    differingFields.forEach(fields::add);
+    json.add("Differing_Fields", fields);
+    return json;
+  }
+
+}
@@ -0,0 +1,39 @@
+package me.jeremiah.databases;
+
+import me.jeremiah.Entry;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// Collects streamed rows into fixed-size chunks; each chunk handed to the consumer is a fresh array it may keep
+public class EntryBuffer {
+
+  private final int size;
+  private final Consumer<Entry[]> consumer;
+  private Entry[] buffer;
+  private int count;
+
+  public EntryBuffer(int size, Consumer<Entry[]> consumer) {
+    if (size < 1)
+      throw new IllegalArgumentException("Fetch size must be at least 1");
+    this.size = size;
+    this.consumer = consumer;
+    this.buffer = new Entry[size];
+  }
+
+  public void add(Entry entry) {
+    buffer[count++] = entry;
+    if (count == size)
+      flush();
+  }
+
+  public void flush() {
+    if (count == 0)
+      return;
+    Entry[] chunk = count == size ? buffer : Arrays.copyOf(buffer, count);
+    buffer = new Entry[size];
+    count = 0;
+    consumer.accept(chunk);
+  }
+
+}
@@ -0,0 +1,23 @@
+package me.jeremiah.databases;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+// A tunable setting of an adapter; candidates seed the coarse sweep, min and max bound the hill climb
+public record Knob(String name, int min, int max, int[] candidates, IntSupplier getter, IntConsumer setter) {
+
+  public int get() {
+    return getter.getAsInt();
+  }
+
+  public void set(int value) {
+    if (value < min || value > max)
+      throw new IllegalArgumentException(name + " must be between " + min + " and " + max + ": " + value);
+    setter.accept(value);
+  }
+
+  public int clamp(long value) {
+    return (int) Math.clamp(value, min, max);
+  }
+
+}
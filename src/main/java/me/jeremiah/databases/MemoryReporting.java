@@ -0,0 +1,9 @@
+package me.jeremiah.databases;
+
+// Implemented by engines that can report how many bytes the server currently holds, so storage cost per entry
+// can be compared next to timings
+public interface MemoryReporting {
+
+  long getUsedMemory();
+
+}
@@ -0,0 +1,93 @@
+package me.jeremiah.databases;
+
+import me.jeremiah.Dataset;
+import me.jeremiah.Entry;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Compares streamed rows against regenerated entries chunk by chunk; memory is bounded by one bit per
+// expected id plus the chunks in flight, which the semaphore caps at twice the parallelism
+class StreamingVerifier {
+
+  private static final int REPORTED_IDS = 10;
+
+  private final Dataset expected;
+  private final int parallelism;
+  private final AtomicLongArray seen;
+  private final LongAdder checked = new LongAdder();
+  private final LongAdder mismatches = new LongAdder();
+  private final LongAdder unexpected = new LongAdder();
+  private final NavigableSet<Integer> firstMismatchIds = new ConcurrentSkipListSet<>();
+
+  StreamingVerifier(Dataset expected, int parallelism) {
+    if (parallelism < 1)
+      throw new IllegalArgumentException("Verification parallelism must be at least 1");
+    this.expected = expected;
+    this.parallelism = parallelism;
+    this.seen = new AtomicLongArray((expected.size() + 63) / 64);
+  }
+
+  VerificationResult verify(Database database, int fetchSize) {
+    Semaphore inFlight = new Semaphore(parallelism * 2);
+    try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+      database.stream(fetchSize, chunk -> {
+        inFlight.acquireUninterruptibly();
+        executor.execute(() -> {
+          try {
+            check(chunk);
+          } finally {
+            inFlight.release();
+          }
+        });
+      });
+    }
+
+    long missing = 0;
+    for (int index = 0; index < expected.size(); index++)
+      if (!isSeen(index)) {
+        missing++;
+        report(expected.fromId() + index);
+      }
+    return new VerificationResult(expected.size(), checked.sum(), mismatches.sum(), missing, unexpected.sum(), List.copyOf(firstMismatchIds));
+  }
+
+  private void check(Entry[] chunk) {
+    for (Entry entry : chunk) {
+      checked.increment();
+      int id = entry.getId();
+      if (!expected.contains(id) || !markSeen(id - expected.fromId())) {
+        unexpected.increment();
+        report(id);
+      } else if (!entry.equals(expected.get(id))) {
+        mismatches.increment();
+        report(id);
+      }
+    }
+  }
+
+  private boolean markSeen(int index) {
+    long bit = 1L << index;
+    long previous = seen.getAndUpdate(index >>> 6, word -> word | bit);
+    return (previous & bit) == 0;
+  }
+
+  private boolean isSeen(int index) {
+    return (seen.get(index >>> 6) & (1L << index)) != 0;
+  }
+
+  private void report(int id) {
+    if (firstMismatchIds.size() >= REPORTED_IDS && id > firstMismatchIds.last())
+      return;
+    firstMismatchIds.add(id);
+    while (firstMismatchIds.size() > REPORTED_IDS)
+      firstMismatchIds.pollLast();
+  }
+
+}
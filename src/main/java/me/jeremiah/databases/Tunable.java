@@ -0,0 +1,27 @@
+package me.jeremiah.databases;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Knobs only take effect when the database is next opened
+public interface Tunable {
+
+  List<Knob> getKnobs();
+
+  default Map<String, Integer> getConfiguration() {
+    Map<String, Integer> configuration = new LinkedHashMap<>();
+    for (Knob knob : getKnobs())
+      configuration.put(knob.name(), knob.get());
+    return configuration;
+  }
+
+  default void applyConfiguration(Map<String, Integer> configuration) {
+    for (Knob knob : getKnobs()) {
+      Integer value = configuration.get(knob.name());
+      if (value != null)
+        knob.set(value);
+    }
+  }
+
+}
@@ -0,0 +1,35 @@
+package me.jeremiah.databases;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.List;
+
+public record VerificationResult(long expected, long checked, long mismatches, long missing, long unexpected, List<Integer> firstMismatchIds) {
+
+  public boolean passed() {
+    return mismatches == 0 && missing == 0 && unexpected == 0;
+  }
+
+  public String describe() {
+    if (passed())
+      return "Passed (" + checked + " rows)";
+    return String.format("Failed (%d mismatched, %d missing, %d unexpected of %d expected; first ids %s)",
+      mismatches, missing, unexpected, expected, firstMismatchIds);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    json.addProperty("Passed", passed());
+    json.addProperty("Expected", expected);
+    json.addProperty("Checked", checked);
+    json.addProperty("Mismatches", mismatches);
+    json.addProperty("Missing", missing);
+    json.addProperty("Unexpected", unexpected);
+    JsonArray ids = new JsonArray();
+    firstMismatchIds.forEach(ids::add);
+    json.add("First_Mismatch_Ids", ids);
+    return json;
+  }
+
+}
@@ -0,0 +1,258 @@
+package me.jeremiah.databases.nosql;
+
+import lombok.Getter;
+import me.jeremiah.Entry;
+import me.jeremiah.ExceptionManager;
+import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Digest;
+import me.jeremiah.databases.DigestCapable;
+import me.jeremiah.databases.EntryBuffer;
+import me.jeremiah.databases.Knob;
+import me.jeremiah.databases.MemoryReporting;
+import me.jeremiah.databases.Tunable;
+import org.jetbrains.annotations.NotNull;
+import redis.clients.jedis.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// Groups entries into "bucket:{id / bucketSize}" hashes keyed by id, so each bucket stays within Redis's compact
+// listpack encoding (hash-max-listpack-entries, 128 by default) instead of paying per-key overhead for every entry
+public class BucketRedis implements Database, DigestCapable, MemoryReporting, Tunable {
+
+  private static final String BUCKET_PREFIX = "bucket:";
+  // Bucket numbers scored by themselves, so reads visit each bucket exactly once; a bucket emptied by removes keeps
+  // its member and is simply skipped
+  private static final String BUCKET_IDS_KEY = "bucket-ids";
+
+  // Hashes one page of the bucket set server-side
+  private static final String DIGEST_SCRIPT = RedisDigest.script("""
+    local buckets = redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[1], '+inf', 'LIMIT', 0, ARGV[2])
+    local count, ids, hash = 0, 0, 0
+    for _, bucket in ipairs(buckets) do
+      local fields = redis.call('HGETALL', ARGV[3] .. bucket)
+      for i = 1, #fields, 2 do
+        local id = tonumber(fields[i])
+        count = count + 1
+        ids = (ids + id) % modulus
+        hash = (hash + rowHash(id, stringHash(fields[i + 1], 0))) % modulus
+      end
+    end
+    local next = #buckets < tonumber(ARGV[2]) and '' or '(' .. buckets[#buckets]
+    return {next, count, ids, hash}
+    """);
+
+  @Getter
+  private final int bucketSize;
+  private final RedisPipeliner pipeliner = new RedisPipeliner(this);
+
+  public BucketRedis() {
+    this(100);
+  }
+
+  public BucketRedis(int bucketSize) {
+    if (bucketSize < 1)
+      throw new IllegalArgumentException("Bucket size must be at least 1");
+    this.bucketSize = bucketSize;
+  }
+
+  @Override
+  public String getBaseName() {
+    return "Bucket-Redis";
+  }
+
+  @Override
+  public void open() {
+    pipeliner.open();
+  }
+
+  @Override
+  public List<Knob> getKnobs() {
+    return pipeliner.getKnobs();
+  }
+
+  @Override
+  public void close() {
+    pipeliner.close();
+  }
+
+  @Override
+  public void wipe() {
+    try {
+      pipeliner.wipe(BUCKET_IDS_KEY, BUCKET_PREFIX);
+    } catch (Exception exception) {
+      ExceptionManager.handleException(this, exception);
+    }
+  }
+
+  @Override
+  public long getUsedMemory() {
+    try (Jedis jedis = pipeliner.getResource()) {
+      return Redis.usedMemory(jedis);
+    }
+  }
+
+  @Override
+  public void insert(@NotNull Entry @NotNull ... entries) {
+    pipeliner.handlePipelined(entries, (pipeline, chunk) -> {
+      Map<Integer, Map<byte[], byte[]>> buckets = new LinkedHashMap<>();
+      for (Entry entry : chunk)
+        buckets.computeIfAbsent(bucketOf(entry.getId()), _ -> new HashMap<>()).put(field(entry.getId()), entry.bytes());
+      Map<String, Double> bucketIds = new HashMap<>();
+      buckets.forEach((bucket, fields) -> {
+        pipeline.hset(bucketKey(bucket), fields);
+        bucketIds.put(String.valueOf(bucket), (double) bucket);
+      });
+      pipeline.zadd(BUCKET_IDS_KEY, bucketIds);
+    });
+  }
+
+  @Override
+  public void update(@NotNull Entry @NotNull ... entries) {
+    insert(entries);
+  }
+
+  @Override
+  public void upsert(@NotNull Entry @NotNull ... entries) {
+    insert(entries);
+  }
+
+  @Override
+  public void remove(@NotNull Integer @NotNull ... ids) {
+    pipeliner.handlePipelined(ids, (pipeline, chunk) -> groupByBucket(Arrays.stream(chunk).mapToInt(Integer::intValue).toArray())
+      .forEach((bucket, bucketIds) -> pipeline.hdel(bucketKey(bucket), fields(bucketIds))));
+  }
+
+  @Override
+  public boolean exists(int id) {
+    try (Jedis jedis = pipeliner.getResource()) {
+      return jedis.hexists(bucketKey(bucketOf(id)), field(id));
+    }
+  }
+
+  @Override
+  public boolean[] existsAll(int... ids) {
+    boolean[] found = new boolean[ids.length];
+    try (Jedis jedis = pipeliner.getResource()) {
+      Pipeline pipeline = jedis.pipelined();
+      List<Response<Boolean>> responses = new ArrayList<>(ids.length);
+      for (int id : ids)
+        responses.add(pipeline.hexists(bucketKey(bucketOf(id)), field(id)));
+      pipeline.sync();
+      for (int i = 0; i < ids.length; i++)
+        found[i] = responses.get(i).get();
+    }
+    return found;
+  }
+
+  @Override
+  public Map<Integer, Entry> select() {
+    Map<Integer, Entry> entries = new HashMap<>();
+    stream(1000, chunk -> {
+      for (Entry entry : chunk)
+        entries.put(entry.getId(), entry);
+    });
+    return entries;
+  }
+
+  @Override
+  public Digest digest() {
+    try (Jedis jedis = pipeliner.getResource()) {
+      return RedisDigest.run(jedis, DIGEST_SCRIPT, BUCKET_IDS_KEY, 100, BUCKET_PREFIX);
+    }
+  }
+
+  @Override
+  public Digest.Mode getDigestMode() {
+    return Digest.Mode.BYTES;
+  }
+
+  // Pages through the bucket set by score, reading about fetchSize entries' worth of buckets per round trip
+  @Override
+  public void stream(int fetchSize, @NotNull Consumer<Entry[]> consumer) {
+    EntryBuffer buffer = new EntryBuffer(fetchSize, consumer);
+    int pageSize = Math.max(1, fetchSize / bucketSize);
+    try (Jedis jedis = pipeliner.getResource()) {
+      String min = "-inf";
+      List<String> buckets;
+      do {
+        buckets = jedis.zrangeByScore(BUCKET_IDS_KEY, min, "+inf", 0, pageSize);
+        Pipeline pipeline = jedis.pipelined();
+        List<Response<Map<byte[], byte[]>>> responses = new ArrayList<>(buckets.size());
+        for (String bucket : buckets)
+          responses.add(pipeline.hgetAll(bucketKey(Integer.parseInt(bucket))));
+        pipeline.sync();
+
+        for (Response<Map<byte[], byte[]>> response : responses)
+          response.get().forEach((field, value) -> buffer.add(new Entry(idOf(field), value)));
+        if (!buckets.isEmpty())
+          min = "(" + buckets.getLast();
+      } while (buckets.size() == pageSize);
+    }
+    buffer.flush();
+  }
+
+  @Override
+  public Map<Integer, Entry> select(int fromId, int toId) {
+    return selectByIds(IntStream.range(fromId, toId).toArray());
+  }
+
+  @Override
+  public Map<Integer, Entry> selectByIds(int... ids) {
+    Map<Integer, Entry> entries = new HashMap<>();
+    try (Jedis jedis = pipeliner.getResource()) {
+      Pipeline pipeline = jedis.pipelined();
+      Map<int[], Response<List<byte[]>>> responses = new LinkedHashMap<>();
+      groupByBucket(ids).forEach((bucket, bucketIds) -> responses.put(bucketIds, pipeline.hmget(bucketKey(bucket), fields(bucketIds))));
+      pipeline.sync();
+
+      responses.forEach((bucketIds, response) -> {
+        List<byte[]> values = response.get();
+        for (int i = 0; i < bucketIds.length; i++)
+          if (values.get(i) != null)
+            entries.put(bucketIds[i], new Entry(bucketIds[i], values.get(i)));
+      });
+    }
+    return entries;
+  }
+
+  private int bucketOf(int id) {
+    return Math.floorDiv(id, bucketSize);
+  }
+
+  private static byte[] bucketKey(int bucket) {
+    return (BUCKET_PREFIX + bucket).getBytes(StandardCharsets.UTF_8);
+  }
+
+  // Decimal fields let listpacks store the ids as integers
+  private static byte[] field(int id) {
+    return String.valueOf(id).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[][] fields(int[] ids) {
+    byte[][] fields = new byte[ids.length][];
+    Arrays.setAll(fields, i -> field(ids[i]));
+    return fields;
+  }
+
+  private static int idOf(byte[] field) {
+    return Integer.parseInt(new String(field, StandardCharsets.UTF_8));
+  }
+
+  private Map<Integer, int[]> groupByBucket(int[] ids) {
+    Map<Integer, IntStream.Builder> builders = new LinkedHashMap<>();
+    for (int id : ids)
+      builders.computeIfAbsent(bucketOf(id), _ -> IntStream.builder()).add(id);
+    Map<Integer, int[]> buckets = new LinkedHashMap<>();
+    builders.forEach((bucket, builder) -> buckets.put(bucket, builder.build().toArray()));
+    return buckets;
+  }
+
+}
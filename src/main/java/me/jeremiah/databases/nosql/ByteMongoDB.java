@@ -7,31 +7,32 @@ import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.*;
+import lombok.Getter;
 import me.jeremiah.Entry;
 import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Digest;
+import me.jeremiah.databases.DigestCapable;
+import me.jeremiah.databases.EntryBuffer;
+import me.jeremiah.databases.Knob;
+import me.jeremiah.databases.Tunable;
 import org.bson.Document;
 import org.bson.UuidRepresentation;
 import org.bson.types.Binary;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
-public class ByteMongoDB implements Database {
+public class ByteMongoDB implements Database, DigestCapable, Tunable {
 
-  protected final MongoClientSettings settings = MongoClientSettings.builder()
-    .applyConnectionString(new ConnectionString("mongodb://localhost:27017/data"))
-    .uuidRepresentation(UuidRepresentation.STANDARD)
-    .applyToConnectionPoolSettings(builder -> builder.maxSize(50))
-    .build();
+  @Getter
+  private int poolSize = 50;
   private MongoClient client;
   private MongoCollection<Document> entries;
 
   @Override
-  public String getName() {
+  public String getBaseName() {
     return "Byte-MongoDB";
   }
 
@@ -39,12 +40,27 @@ public class ByteMongoDB implements Database {
   public void open() {
     if (client != null)
       throw new IllegalStateException("Client is already open");
-    client = MongoClients.create(settings);
+    client = MongoClients.create(MongoClientSettings.builder()
+      .applyConnectionString(new ConnectionString("mongodb://localhost:27017/data"))
+      .uuidRepresentation(UuidRepresentation.STANDARD)
+      .applyToConnectionPoolSettings(builder -> builder.maxSize(poolSize))
+      .build());
     MongoDatabase database = client.getDatabase("data");
     entries = database.getCollection("entries");
     entries.createIndex(new Document("id", 1), new IndexOptions().unique(true));
   }
 
+  public void setPoolSize(int poolSize) {
+    if (poolSize < 1)
+      throw new IllegalArgumentException("Pool size must be at least 1");
+    this.poolSize = poolSize;
+  }
+
+  @Override
+  public List<Knob> getKnobs() {
+    return List.of(new Knob("Pool_Size", 1, 200, new int[]{4, 16, 50, 128}, this::getPoolSize, this::setPoolSize));
+  }
+
   @Override
   public void wipe() {
     entries.deleteMany(new Document());
@@ -68,6 +84,11 @@ public class ByteMongoDB implements Database {
     bulkWrite(entries, writable -> new UpdateOneModel<>(new Document("id", writable.getId()), new Document("$set", writable.toByteDocument())));
   }
 
+  @Override
+  public void upsert(@NotNull Entry @NotNull ... entries) {
+    bulkWrite(entries, writable -> new ReplaceOneModel<>(new Document("id", writable.getId()), writable.toByteDocument(), new ReplaceOptions().upsert(true)));
+  }
+
   @Override
   public void remove(@NotNull Integer @NotNull ... ids) {
     bulkWrite(ids, writable -> new DeleteOneModel<>(new Document("id", writable)));
@@ -82,10 +103,53 @@ public class ByteMongoDB implements Database {
     return entries.find(new Document("id", id)).first() != null;
   }
 
+  @Override
+  public boolean[] existsAll(int... ids) {
+    Set<Integer> found = new HashSet<>();
+    for (Document document : entries.find(Filters.in("id", Arrays.stream(ids).boxed().toList())).projection(Projections.include("id")))
+      found.add(document.getInteger("id"));
+    return Database.present(ids, found);
+  }
+
   @Override
   public Map<Integer, Entry> select() {
+    return deserialize(this.entries.find());
+  }
+
+  @Override
+  public Map<Integer, Entry> selectByIds(int... ids) {
+    return deserialize(this.entries.find(Filters.in("id", Arrays.stream(ids).boxed().toList())));
+  }
+
+  @Override
+  public Map<Integer, Entry> select(int fromId, int toId) {
+    return deserialize(this.entries.find(Filters.and(Filters.gte("id", fromId), Filters.lt("id", toId))));
+  }
+
+  @Override
+  public void stream(int fetchSize, @NotNull Consumer<Entry[]> consumer) {
+    EntryBuffer buffer = new EntryBuffer(fetchSize, consumer);
+    for (Document document : this.entries.find().batchSize(fetchSize)) {
+      int id = document.getInteger("id");
+      buffer.add(new Entry(id, document.get("data", Binary.class).getData()));
+    }
+    buffer.flush();
+  }
+
+  @Override
+  public Digest digest() {
+    return MongoDigest.aggregate(entries, MongoDigest.bytesHash());
+  }
+
+
+  @Override
+  public Digest.Mode getDigestMode() {
+    return Digest.Mode.BYTES;
+  }
+
+  private Map<Integer, Entry> deserialize(Iterable<Document> documents) {
     Map<Integer, Entry> entries = new HashMap<>();
-    for (Document document : this.entries.find()) {
+    for (Document document : documents) {
       int id = document.getInteger("id");
       byte[] data = document.get("data", Binary.class).getData();
       entries.put(id, new Entry(id, data));
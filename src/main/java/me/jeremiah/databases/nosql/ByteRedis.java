@@ -4,109 +4,221 @@ import com.google.common.primitives.Ints;
 import me.jeremiah.Entry;
 import me.jeremiah.ExceptionManager;
 import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Digest;
+import me.jeremiah.databases.DigestCapable;
+import me.jeremiah.databases.EntryBuffer;
+import me.jeremiah.databases.Knob;
+import me.jeremiah.databases.MemoryReporting;
+import me.jeremiah.databases.Tunable;
 import org.jetbrains.annotations.NotNull;
 import redis.clients.jedis.*;
-import redis.clients.jedis.params.ScanParams;
-import redis.clients.jedis.resps.ScanResult;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-public class ByteRedis implements Database {
-
-  private JedisPool jedisPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+public class ByteRedis implements Database, DigestCapable, MemoryReporting, Tunable {
+
+  // Same key layout as Redis, with binary ids
+  private static final byte[] KEY_PREFIX = Redis.KEY_PREFIX.getBytes(StandardCharsets.UTF_8);
+  private static final byte[] IDS_KEY = Redis.IDS_KEY.getBytes(StandardCharsets.UTF_8);
+  private static final byte[] MAX_SCORE = "+inf".getBytes(StandardCharsets.UTF_8);
+
+  // Hashes one page of the id set server-side
+  private static final String DIGEST_SCRIPT = RedisDigest.script("""
+    local members = redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[1], '+inf', 'LIMIT', 0, ARGV[2])
+    local count, ids, hash, last = 0, 0, 0, 0
+    for _, member in ipairs(members) do
+      local b1, b2, b3, b4 = string.byte(member, 1, 4)
+      local id = ((b1 * 256 + b2) * 256 + b3) * 256 + b4
+      if id >= modulus then
+        id = id - 4294967296
+      end
+      last = id
+      local data = redis.call('GET', ARGV[3] .. member)
+      if data then
+        count = count + 1
+        ids = (ids + id) % modulus
+        hash = (hash + rowHash(id, stringHash(data, 0))) % modulus
+      end
+    end
+    local next = #members < tonumber(ARGV[2]) and '' or '(' .. string.format('%d', last)
+    return {next, count, ids, hash}
+    """);
+
+  private final RedisPipeliner pipeliner = new RedisPipeliner(this);
 
   @Override
-  public String getName() {
+  public String getBaseName() {
     return "Byte-Redis";
   }
 
   @Override
   public void open() {
-    JedisPoolConfig poolConfig = new JedisPoolConfig();
-    poolConfig.setMaxTotal(128);
-    poolConfig.setMaxIdle(128);
-    poolConfig.setMinIdle(16);
-    jedisPool = new JedisPool(poolConfig, "localhost", 6379, 100000);
+    pipeliner.open();
+  }
+
+  @Override
+  public List<Knob> getKnobs() {
+    return pipeliner.getKnobs();
   }
 
   @Override
   public void close() {
-    jedisPool.close();
+    pipeliner.close();
   }
 
   @Override
   public void wipe() {
-    try (Jedis jedis = jedisPool.getResource()) {
-      jedis.flushAll();
+    try {
+      pipeliner.wipe(Redis.IDS_KEY, Redis.KEY_PREFIX);
     } catch (Exception exception) {
       ExceptionManager.handleException(this, exception);
     }
   }
 
   @Override
-  public void insert(@NotNull Entry @NotNull ... entries) {
-    try (Jedis jedis = jedisPool.getResource()) {
-      Pipeline pipeline = jedis.pipelined();
-      for (Entry entry : entries)
-        pipeline.set(Ints.toByteArray(entry.getId()), entry.bytes());
-      pipeline.sync();
+  public long getUsedMemory() {
+    try (Jedis jedis = pipeliner.getResource()) {
+      return Redis.usedMemory(jedis);
     }
   }
 
+  @Override
+  public void insert(@NotNull Entry @NotNull ... entries) {
+    pipeliner.handlePipelined(entries, (pipeline, chunk) -> {
+      byte[][] keysValues = new byte[chunk.length * 2][];
+      Map<byte[], Double> ids = new HashMap<>();
+      for (int i = 0; i < chunk.length; i++) {
+        keysValues[i * 2] = key(chunk[i].getId());
+        keysValues[i * 2 + 1] = chunk[i].bytes();
+        ids.put(Ints.toByteArray(chunk[i].getId()), (double) chunk[i].getId());
+      }
+      pipeline.mset(keysValues);
+      pipeline.zadd(IDS_KEY, ids);
+    });
+  }
+
   @Override
   public void update(@NotNull Entry @NotNull ... entries) {
     insert(entries);
   }
 
+  @Override
+  public void upsert(@NotNull Entry @NotNull ... entries) {
+    insert(entries);
+  }
+
   @Override
   public void remove(@NotNull Integer @NotNull ... ids) {
-    try (Jedis jedis = jedisPool.getResource()) {
-      Pipeline pipeline = jedis.pipelined();
-      byte[][] rawIds = new byte[ids.length][];
-      Arrays.setAll(rawIds, i -> Ints.toByteArray(ids[i]));
-      pipeline.del(rawIds);
-      pipeline.sync();
-    }
+    pipeliner.handlePipelined(ids, (pipeline, chunk) -> {
+      byte[][] keys = new byte[chunk.length][];
+      Arrays.setAll(keys, i -> key(chunk[i]));
+      byte[][] rawIds = new byte[chunk.length][];
+      Arrays.setAll(rawIds, i -> Ints.toByteArray(chunk[i]));
+      pipeline.del(keys);
+      pipeline.zrem(IDS_KEY, rawIds);
+    });
   }
 
   @Override
   public boolean exists(int id) {
-    try (Jedis jedis = jedisPool.getResource()) {
-      return jedis.exists(Ints.toByteArray(id));
+    try (Jedis jedis = pipeliner.getResource()) {
+      return jedis.exists(key(id));
     }
   }
 
+  @Override
+  public boolean[] existsAll(int... ids) {
+    boolean[] found = new boolean[ids.length];
+    try (Jedis jedis = pipeliner.getResource()) {
+      Pipeline pipeline = jedis.pipelined();
+      List<Response<Boolean>> responses = new ArrayList<>(ids.length);
+      for (int id : ids)
+        responses.add(pipeline.exists(key(id)));
+      pipeline.sync();
+      for (int i = 0; i < ids.length; i++)
+        found[i] = responses.get(i).get();
+    }
+    return found;
+  }
+
   @Override
   public Map<Integer, Entry> select() {
     Map<Integer, Entry> entries = new HashMap<>();
-    try (Jedis jedis = jedisPool.getResource()) {
-      String cursor = "0";
-      ScanParams scanParams = new ScanParams().match("*").count(1000);
-      List<byte[]> keys = new ArrayList<>();
+    stream(1000, chunk -> {
+      for (Entry entry : chunk)
+        entries.put(entry.getId(), entry);
+    });
+    return entries;
+  }
+
+  @Override
+  public Digest digest() {
+    try (Jedis jedis = pipeliner.getResource()) {
+      return RedisDigest.run(jedis, DIGEST_SCRIPT, Redis.IDS_KEY, 1000, Redis.KEY_PREFIX);
+    }
+  }
+
+  @Override
+  public Digest.Mode getDigestMode() {
+    return Digest.Mode.BYTES;
+  }
 
+  // Pages through the id set by score so only one page of ids is held at a time
+  @Override
+  public void stream(int fetchSize, @NotNull Consumer<Entry[]> consumer) {
+    EntryBuffer buffer = new EntryBuffer(fetchSize, consumer);
+    try (Jedis jedis = pipeliner.getResource()) {
+      byte[] min = "-inf".getBytes(StandardCharsets.UTF_8);
+      List<byte[]> ids;
       do {
-        ScanResult<byte[]> scanResult = jedis.scan(cursor.getBytes(), scanParams);
-        keys.addAll(scanResult.getResult());
-        cursor = scanResult.getCursor();
-      } while (!cursor.equals("0"));
+        ids = jedis.zrangeByScore(IDS_KEY, min, MAX_SCORE, 0, fetchSize);
+        if (ids.isEmpty())
+          break;
+        byte[][] keys = new byte[ids.size()][];
+        for (int i = 0; i < keys.length; i++)
+          keys[i] = key(Ints.fromByteArray(ids.get(i)));
+        List<byte[]> values = jedis.mget(keys);
+        for (int i = 0; i < keys.length; i++)
+          if (values.get(i) != null)
+            buffer.add(new Entry(Ints.fromByteArray(ids.get(i)), values.get(i)));
+        min = ("(" + Ints.fromByteArray(ids.getLast())).getBytes(StandardCharsets.UTF_8);
+      } while (ids.size() == fetchSize);
+    }
+    buffer.flush();
+  }
 
-      Pipeline pipeline = jedis.pipelined();
-      List<Response<byte[]>> responses = new ArrayList<>();
-      for (byte[] key : keys)
-        responses.add(pipeline.get(key));
-      pipeline.sync();
+  @Override
+  public Map<Integer, Entry> select(int fromId, int toId) {
+    return selectByIds(IntStream.range(fromId, toId).toArray());
+  }
 
-      for (int i = 0; i < keys.size(); i++) {
-        int id = Ints.fromByteArray(keys.get(i));
-        byte[] value = responses.get(i).get();
-        entries.put(id, new Entry(id, value));
-      }
+  @Override
+  public Map<Integer, Entry> selectByIds(int... ids) {
+    Map<Integer, Entry> entries = new HashMap<>();
+    if (ids.length == 0)
+      return entries;
+    try (Jedis jedis = pipeliner.getResource()) {
+      byte[][] keys = new byte[ids.length][];
+      Arrays.setAll(keys, i -> key(ids[i]));
+      List<byte[]> values = jedis.mget(keys);
+      for (int i = 0; i < values.size(); i++)
+        if (values.get(i) != null)
+          entries.put(ids[i], new Entry(ids[i], values.get(i)));
     }
     return entries;
   }
 
-}
\ No newline at end of file
+  private static byte[] key(int id) {
+    byte[] key = Arrays.copyOf(KEY_PREFIX, KEY_PREFIX.length + Integer.BYTES);
+    System.arraycopy(Ints.toByteArray(id), 0, key, KEY_PREFIX.length, Integer.BYTES);
+    return key;
+  }
+
+}
@@ -6,25 +6,71 @@ import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
 import com.datastax.oss.driver.api.core.config.ProgrammaticDriverConfigLoaderBuilder;
 import com.datastax.oss.driver.api.core.cql.*;
+import lombok.Getter;
+import lombok.Setter;
 import me.jeremiah.Entry;
 import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Knob;
+import me.jeremiah.databases.Tunable;
+import me.jeremiah.databases.EntryBuffer;
 import org.jetbrains.annotations.NotNull;
 
+import java.math.BigInteger;
 import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
-public class Cassandra implements Database {
+public class Cassandra implements Database, Tunable {
 
-  private static final int BATCH_SIZE = 200;
+  private static final String INSERT_STATEMENT = "INSERT INTO data (id, first_name, middle_initial, last_name, age, net_worth) VALUES (?, ?, ?, ?, ?, ?);";
+  private static final String UPDATE_STATEMENT = "UPDATE data SET first_name = ?, middle_initial = ?, last_name = ?, age = ?, net_worth = ? WHERE id = ?;";
+  private static final String REMOVE_STATEMENT = "DELETE FROM data WHERE id = ?;";
+  private static final String SELECT_STATEMENT = "SELECT id, first_name, middle_initial, last_name, age, net_worth FROM data WHERE id = ?;";
+  private static final String RANGE_SCAN_STATEMENT = "SELECT id, first_name, middle_initial, last_name, age, net_worth FROM data WHERE token(id) > ? AND token(id) <= ?;";
+  private static final String EXISTS_STATEMENT = "SELECT COUNT(*) FROM data WHERE id = ?;";
+  private static final BatchAction<Entry> INSERT_BINDER = entry -> new Object[]{entry.getId(), entry.getFirstName(), String.valueOf(entry.getMiddleInitial()), entry.getLastName(), entry.getAge(), entry.getNetWorth()};
+  private static final BatchAction<Entry> UPDATE_BINDER = entry -> new Object[]{entry.getFirstName(), String.valueOf(entry.getMiddleInitial()), entry.getLastName(), entry.getAge(), entry.getNetWorth(), entry.getId()};
+
+  @Getter
+  private int poolSize = 50;
+  @Getter
+  private int batchSize = 200;
+  @Getter
+  private int maxInFlight = 256;
+  @Getter
+  private int scanParallelism = 8;
+  @Getter
+  private int scanPageSize = 5_000;
+  @Getter
+  @Setter
+  private CassandraWriteMode writeMode = CassandraWriteMode.ASYNC;
+  private final Map<String, PreparedStatement> preparedStatements = new ConcurrentHashMap<>();
   private CqlSession session;
 
+  public Cassandra() {
+  }
+
+  public Cassandra(CassandraWriteMode writeMode) {
+    this.writeMode = writeMode;
+  }
+
+  @Override
+  public String getName() {
+    return writeMode == CassandraWriteMode.ASYNC ? getBaseName() : getBaseName() + "-" + writeMode.getName();
+  }
+
   @Override
   public void open() {
     ProgrammaticDriverConfigLoaderBuilder configLoaderBuilder = DriverConfigLoader.programmaticBuilder()
       .withDuration(DefaultDriverOption.REQUEST_TIMEOUT, Duration.ofSeconds(30))
-      .withInt(DefaultDriverOption.CONNECTION_POOL_LOCAL_SIZE, 50)
+      .withInt(DefaultDriverOption.CONNECTION_POOL_LOCAL_SIZE, poolSize)
       .withInt(DefaultDriverOption.CONNECTION_MAX_REQUESTS, 1024);
 
     session = CqlSession.builder()
@@ -43,8 +89,50 @@ public class Cassandra implements Database {
     session.execute(tableCreation);
   }
 
+  public void setPoolSize(int poolSize) {
+    if (poolSize < 1)
+      throw new IllegalArgumentException("Pool size must be at least 1");
+    this.poolSize = poolSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    if (batchSize < 1)
+      throw new IllegalArgumentException("Batch size must be at least 1");
+    this.batchSize = batchSize;
+  }
+
+  public void setMaxInFlight(int maxInFlight) {
+    if (maxInFlight < 1)
+      throw new IllegalArgumentException("Max in-flight writes must be at least 1");
+    this.maxInFlight = maxInFlight;
+  }
+
+  public void setScanParallelism(int scanParallelism) {
+    if (scanParallelism < 1)
+      throw new IllegalArgumentException("Scan parallelism must be at least 1");
+    this.scanParallelism = scanParallelism;
+  }
+
+  public void setScanPageSize(int scanPageSize) {
+    if (scanPageSize < 1)
+      throw new IllegalArgumentException("Scan page size must be at least 1");
+    this.scanPageSize = scanPageSize;
+  }
+
+  // Unlogged batches past a few hundred rows hit the server's batch_size_fail_threshold
+  @Override
+  public List<Knob> getKnobs() {
+    return List.of(
+      new Knob("Pool_Size", 1, 64, new int[]{1, 4, 16, 50}, this::getPoolSize, this::setPoolSize),
+      writeMode == CassandraWriteMode.ASYNC
+        ? new Knob("Max_In_Flight", 8, 4_096, new int[]{32, 128, 256, 1_024}, this::getMaxInFlight, this::setMaxInFlight)
+        : new Knob("Batch_Size", 10, 500, new int[]{25, 50, 200, 400}, this::getBatchSize, this::setBatchSize)
+    );
+  }
+
   @Override
   public void close() {
+    preparedStatements.clear();
     if (session != null)
       session.close();
   }
@@ -56,62 +144,289 @@ public class Cassandra implements Database {
 
   @Override
   public void insert(@NotNull Entry @NotNull ... entries) {
-    handleBatchAction("INSERT INTO data (id, first_name, middle_initial, last_name, age, net_worth) VALUES (?, ?, ?, ?, ?, ?);", entries,
-      entry -> new Object[]{entry.getId(), entry.getFirstName(), String.valueOf(entry.getMiddleInitial()), entry.getLastName(), entry.getAge(), entry.getNetWorth()});
+    handleBatchAction(INSERT_STATEMENT, entries, INSERT_BINDER);
   }
 
   @Override
   public void update(@NotNull Entry @NotNull ... entries) {
-    handleBatchAction("UPDATE data SET first_name = ?, middle_initial = ?, last_name = ?, age = ?, net_worth = ? WHERE id = ?;", entries,
-      entry -> new Object[]{entry.getFirstName(), String.valueOf(entry.getMiddleInitial()), entry.getLastName(), entry.getAge(), entry.getNetWorth(), entry.getId()});
+    handleBatchAction(UPDATE_STATEMENT, entries, UPDATE_BINDER);
+  }
+
+  // Cassandra writes never read before writing, so a plain INSERT is already an upsert
+  @Override
+  public void upsert(@NotNull Entry @NotNull ... entries) {
+    handleBatchAction(INSERT_STATEMENT, entries, INSERT_BINDER);
   }
 
   @Override
   public void remove(@NotNull Integer @NotNull ... ids) {
-    handleBatchAction("DELETE FROM data WHERE id = ?;", ids, id -> new Object[]{id});
+    handleBatchAction(REMOVE_STATEMENT, ids, id -> new Object[]{id});
   }
 
   @Override
   public boolean exists(int id) {
-    return handleQuery("SELECT COUNT(*) FROM data WHERE id = ?;", resultSet -> {
+    return handleQuery(EXISTS_STATEMENT, resultSet -> {
       Row row = resultSet.one();
       return row != null && row.getLong(0) > 0;
     }, id);
   }
 
+  @Override
+  public boolean[] existsAll(int... ids) {
+    boolean[] found = new boolean[ids.length];
+    List<CompletableFuture<AsyncResultSet>> reads = readAll(EXISTS_STATEMENT, ids);
+    for (int i = 0; i < ids.length; i++) {
+      Row row = reads.get(i).join().one();
+      found[i] = row != null && row.getLong(0) > 0;
+    }
+    return found;
+  }
+
+  @Override
+  public CompletableFuture<Void> insertAsync(@NotNull Entry @NotNull ... entries) {
+    return handleBatchActionAsync(INSERT_STATEMENT, entries, INSERT_BINDER);
+  }
+
+  @Override
+  public CompletableFuture<Void> updateAsync(@NotNull Entry @NotNull ... entries) {
+    return handleBatchActionAsync(UPDATE_STATEMENT, entries, UPDATE_BINDER);
+  }
+
+  @Override
+  public CompletableFuture<Void> upsertAsync(@NotNull Entry @NotNull ... entries) {
+    return handleBatchActionAsync(INSERT_STATEMENT, entries, INSERT_BINDER);
+  }
+
+  @Override
+  public CompletableFuture<Void> removeAsync(@NotNull Integer @NotNull ... ids) {
+    return handleBatchActionAsync(REMOVE_STATEMENT, ids, id -> new Object[]{id});
+  }
+
+  @Override
+  public CompletableFuture<Boolean> existsAsync(int id) {
+    return session.executeAsync(prepare(EXISTS_STATEMENT).bind(id))
+      .thenApply(resultSet -> {
+        Row row = resultSet.one();
+        return row != null && row.getLong(0) > 0;
+      })
+      .toCompletableFuture();
+  }
+
+  // Each token range is paged into its own map on its own thread; the maps are only combined once every scan is done
   @Override
   public Map<Integer, Entry> select() {
-    return handleQuery("SELECT id, first_name, middle_initial, last_name, age, net_worth FROM data;", resultSet -> {
-      Map<Integer, Entry> entries = new HashMap<>();
-      for (Row row : resultSet) {
-        int id = row.getInt("id");
-        String firstName = row.getString("first_name");
-        char middleInitial = row.getString("middle_initial").charAt(0);
-        String lastName = row.getString("last_name");
-        int age = row.getInt("age");
-        double netWorth = row.getDouble("net_worth");
-        entries.put(id, new Entry(id, firstName, middleInitial, lastName, age, netWorth));
+    long[] bounds = splitRing(scanParallelism);
+    List<CompletableFuture<Map<Integer, Entry>>> scans = new ArrayList<>(scanParallelism);
+    try (ExecutorService executor = Executors.newFixedThreadPool(scanParallelism)) {
+      for (int i = 0; i < scanParallelism; i++) {
+        long fromToken = bounds[i];
+        long toToken = bounds[i + 1];
+        scans.add(CompletableFuture.supplyAsync(() -> {
+          Map<Integer, Entry> entries = new HashMap<>();
+          scanRange(fromToken, toToken, scanPageSize, entry -> entries.put(entry.getId(), entry));
+          return entries;
+        }, executor));
+      }
+    }
+    Map<Integer, Entry> entries = new HashMap<>();
+    for (CompletableFuture<Map<Integer, Entry>> scan : scans)
+      entries.putAll(scan.join());
+    return entries;
+  }
+
+  @Override
+  public Map<Integer, Entry> select(int fromId, int toId) {
+    List<Integer> ids = IntStream.range(fromId, toId).boxed().toList();
+    return handleQuery("SELECT id, first_name, middle_initial, last_name, age, net_worth FROM data WHERE id IN ?;", this::deserialize, ids);
+  }
+
+  // Single-partition reads issued concurrently instead of one multi-partition IN query through a single coordinator
+  @Override
+  public Map<Integer, Entry> selectByIds(int... ids) {
+    Map<Integer, Entry> entries = new HashMap<>();
+    for (CompletableFuture<AsyncResultSet> read : readAll(SELECT_STATEMENT, ids)) {
+      Row row = read.join().one();
+      if (row != null) {
+        Entry entry = deserialize(row);
+        entries.put(entry.getId(), entry);
       }
-      return entries;
-    });
+    }
+    return entries;
+  }
+
+  private List<CompletableFuture<AsyncResultSet>> readAll(String statement, int[] ids) {
+    PreparedStatement preparedStatement = prepare(statement);
+    List<CompletableFuture<AsyncResultSet>> reads = new ArrayList<>(ids.length);
+    for (int id : ids)
+      reads.add(session.executeAsync(preparedStatement.bind(id)).toCompletableFuture());
+    return reads;
+  }
+
+  // Range scans hand their chunks to the calling thread through a bounded queue, so the consumer is never called concurrently
+  @Override
+  public void stream(int fetchSize, @NotNull Consumer<Entry[]> consumer) {
+    long[] bounds = splitRing(scanParallelism);
+    BlockingQueue<Entry[]> chunks = new ArrayBlockingQueue<>(scanParallelism * 2);
+    List<Future<?>> scans = new ArrayList<>(scanParallelism);
+    ExecutorService executor = Executors.newFixedThreadPool(scanParallelism);
+    try {
+      for (int i = 0; i < scanParallelism; i++) {
+        long fromToken = bounds[i];
+        long toToken = bounds[i + 1];
+        scans.add(executor.submit(() -> {
+          try {
+            EntryBuffer buffer = new EntryBuffer(fetchSize, chunk -> offer(chunks, chunk));
+            scanRange(fromToken, toToken, fetchSize, buffer::add);
+            buffer.flush();
+          } finally {
+            offer(chunks, new Entry[0]);
+          }
+        }));
+      }
+      int finished = 0;
+      while (finished < scans.size()) {
+        Entry[] chunk = chunks.take();
+        if (chunk.length == 0)
+          finished++;
+        else
+          consumer.accept(chunk);
+      }
+      for (Future<?> scan : scans)
+        scan.get();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while streaming token ranges", exception);
+    } catch (ExecutionException exception) {
+      throw exception.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(exception.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void scanRange(long fromToken, long toToken, int pageSize, Consumer<Entry> consumer) {
+    PreparedStatement preparedStatement = prepare(RANGE_SCAN_STATEMENT);
+    for (Row row : session.execute(preparedStatement.bind(fromToken, toToken).setPageSize(pageSize)))
+      consumer.accept(deserialize(row));
+  }
+
+  // Murmur3, the default partitioner, never assigns Long.MIN_VALUE, so (MIN, MAX] covers every key
+  private static long[] splitRing(int ranges) {
+    BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+    BigInteger span = BigInteger.valueOf(Long.MAX_VALUE).subtract(min);
+    long[] bounds = new long[ranges + 1];
+    for (int i = 0; i <= ranges; i++)
+      bounds[i] = min.add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(ranges))).longValueExact();
+    return bounds;
+  }
+
+  private static void offer(BlockingQueue<Entry[]> chunks, Entry[] chunk) {
+    try {
+      chunks.put(chunk);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while handing off a scanned chunk", exception);
+    }
+  }
+
+  private Map<Integer, Entry> deserialize(ResultSet resultSet) {
+    Map<Integer, Entry> entries = new HashMap<>();
+    for (Row row : resultSet) {
+      Entry entry = deserialize(row);
+      entries.put(entry.getId(), entry);
+    }
+    return entries;
+  }
+
+  private Entry deserialize(Row row) {
+    int id = row.getInt("id");
+    String firstName = row.getString("first_name");
+    char middleInitial = row.getString("middle_initial").charAt(0);
+    String lastName = row.getString("last_name");
+    int age = row.getInt("age");
+    double netWorth = row.getDouble("net_worth");
+    return new Entry(id, firstName, middleInitial, lastName, age, netWorth);
+  }
+
+  // Prepared once per session; the driver transparently re-prepares on nodes that lost the statement
+  private PreparedStatement prepare(String statement) {
+    return preparedStatements.computeIfAbsent(statement, session::prepare);
   }
 
   private <W> void handleBatchAction(String statement, W[] writables, BatchAction<W> parser) {
-    for (int i = 0; i < writables.length; i += BATCH_SIZE) {
+    if (writeMode == CassandraWriteMode.ASYNC) {
+      handleBatchActionAsync(statement, writables, parser).join();
+      return;
+    }
+    PreparedStatement preparedStatement = prepare(statement);
+    for (int i = 0; i < writables.length; i += batchSize) {
       BatchStatementBuilder batchBuilder = BatchStatement.builder(BatchType.UNLOGGED);
-      PreparedStatement preparedStatement = session.prepare(statement);
-      for (int j = i; j < i + BATCH_SIZE && j < writables.length; j++)
+      for (int j = i; j < i + batchSize && j < writables.length; j++)
         batchBuilder.addStatement(preparedStatement.bind(parser.accept(writables[j])));
       session.execute(batchBuilder.build());
     }
   }
 
+  private <W> CompletableFuture<Void> handleBatchActionAsync(String statement, W[] writables, BatchAction<W> parser) {
+    PreparedStatement preparedStatement = prepare(statement);
+    if (writeMode == CassandraWriteMode.ASYNC)
+      return new WriteWindow<>(preparedStatement, writables, parser).start();
+    List<CompletableFuture<AsyncResultSet>> batches = new ArrayList<>();
+    for (int i = 0; i < writables.length; i += batchSize) {
+      BatchStatementBuilder batchBuilder = BatchStatement.builder(BatchType.UNLOGGED);
+      for (int j = i; j < i + batchSize && j < writables.length; j++)
+        batchBuilder.addStatement(preparedStatement.bind(parser.accept(writables[j])));
+      batches.add(session.executeAsync(batchBuilder.build()).toCompletableFuture());
+    }
+    return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new));
+  }
+
   private <R> R handleQuery(String statement, Query<R> query, Object... bindables) {
-    PreparedStatement preparedStatement = session.prepare(statement);
+    PreparedStatement preparedStatement = prepare(statement);
     ResultSet resultSet = session.execute(preparedStatement.bind(bindables));
     return query.apply(resultSet);
   }
 
+  // Keeps at most maxInFlight writes outstanding, each completion issuing the next write
+  private class WriteWindow<W> {
+
+    private final PreparedStatement preparedStatement;
+    private final W[] writables;
+    private final BatchAction<W> parser;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private WriteWindow(PreparedStatement preparedStatement, W[] writables, BatchAction<W> parser) {
+      this.preparedStatement = preparedStatement;
+      this.writables = writables;
+      this.parser = parser;
+      this.remaining = new AtomicInteger(writables.length);
+    }
+
+    private CompletableFuture<Void> start() {
+      if (writables.length == 0)
+        completion.complete(null);
+      for (int i = 0; i < Math.min(maxInFlight, writables.length); i++)
+        writeNext();
+      return completion;
+    }
+
+    private void writeNext() {
+      int index = next.getAndIncrement();
+      if (index >= writables.length || completion.isDone())
+        return;
+      session.executeAsync(preparedStatement.bind(parser.accept(writables[index]))).whenComplete((_, throwable) -> {
+        if (throwable != null)
+          completion.completeExceptionally(throwable);
+        else if (remaining.decrementAndGet() == 0)
+          completion.complete(null);
+        else
+          writeNext();
+      });
+    }
+
+  }
+
   private interface BatchAction<W> {
     Object[] accept(W writable);
   }
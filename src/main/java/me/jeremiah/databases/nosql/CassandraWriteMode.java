@@ -0,0 +1,17 @@
+package me.jeremiah.databases.nosql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum CassandraWriteMode {
+
+  // Single-partition writes in a bounded async window, routed token-aware by the driver
+  ASYNC("Async"),
+  // Multi-partition unlogged batches, fanned out by the coordinator
+  UNLOGGED_BATCH("UnloggedBatch");
+
+  private final String name;
+
+}
@@ -0,0 +1,44 @@
+package me.jeremiah.databases.nosql;
+
+import me.jeremiah.databases.Digest;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Digest's row hash in Cypher. Cypher has no character codes, so a character's code is recovered from the length of
+// the printable ASCII range before it: the first piece of splitting that range on the character
+final class CypherDigest {
+
+  private static final long M = Digest.MODULUS;
+  private static final String PRINTABLE = IntStream.rangeClosed(' ', '~').mapToObj(Character::toString).collect(Collectors.joining());
+
+  static final String FIELDS_HASH = stringHash("e.first_name", Digest.FIRST_NAME_OFFSET)
+    + " + " + stringHash("e.last_name", Digest.LAST_NAME_OFFSET)
+    + " + " + charCode("e.middle_initial") + " * " + Digest.weight(Digest.INITIAL_POSITION) + " % " + M
+    + " + e.age * " + Digest.weight(Digest.AGE_POSITION) + " % " + M
+    + " + toInteger(floor(e.net_worth * " + Digest.NET_WORTH_SCALE + ")) % " + M + " * " + Digest.weight(Digest.NET_WORTH_POSITION) + " % " + M;
+  // Byte arrays read back as signed values
+  static final String BYTES_HASH = "reduce(h = 0, k IN range(0, size(e.data) - 1) | h + ((e.data[k] + 256) % 256) * $weights[k + 1] % " + M + ")";
+
+  private CypherDigest() {
+  }
+
+  static Digest run(Session session, String contentHash) {
+    Record record = session.run("MATCH (e:Entry) WITH e, " + contentHash + " AS content " +
+        "RETURN count(e) AS count, sum(e.id) AS ids, sum((content + e.id) % " + M + " * ((2 * e.id + 1) % " + M + ") % " + M + ") AS hash",
+      Values.parameters("weights", Digest.weights(), "printable", PRINTABLE)).single();
+    return new Digest(record.get("count").asLong(), record.get("ids").asLong(), record.get("hash").asLong());
+  }
+
+  private static String stringHash(String property, int offset) {
+    return "reduce(h = 0, k IN range(0, size(" + property + ") - 1) | h + " + charCode("substring(" + property + ", k, 1)") + " * $weights[k + " + (offset + 1) + "] % " + M + ")";
+  }
+
+  private static String charCode(String character) {
+    return "(size(split($printable, " + character + ")[0]) + 32)";
+  }
+
+}
@@ -7,25 +7,26 @@ import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.*;
+import lombok.Getter;
 import me.jeremiah.Entry;
 import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Digest;
+import me.jeremiah.databases.DigestCapable;
+import me.jeremiah.databases.EntryBuffer;
+import me.jeremiah.databases.Knob;
+import me.jeremiah.databases.Tunable;
 import org.bson.Document;
 import org.bson.UuidRepresentation;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
-public class MongoDB implements Database {
+public class MongoDB implements Database, DigestCapable, Tunable {
 
-  protected final MongoClientSettings settings = MongoClientSettings.builder()
-    .applyConnectionString(new ConnectionString("mongodb://localhost:27017/data"))
-    .uuidRepresentation(UuidRepresentation.STANDARD)
-    .applyToConnectionPoolSettings(builder -> builder.maxSize(50))
-    .build();
+  @Getter
+  private int poolSize = 50;
   private MongoClient client;
   private MongoCollection<Document> entries;
 
@@ -33,12 +34,27 @@ public class MongoDB implements Database {
   public void open() {
     if (client != null)
       throw new IllegalStateException("Client is already open");
-    client = MongoClients.create(settings);
+    client = MongoClients.create(MongoClientSettings.builder()
+      .applyConnectionString(new ConnectionString("mongodb://localhost:27017/data"))
+      .uuidRepresentation(UuidRepresentation.STANDARD)
+      .applyToConnectionPoolSettings(builder -> builder.maxSize(poolSize))
+      .build());
     MongoDatabase database = client.getDatabase("data");
     entries = database.getCollection("entries");
     entries.createIndex(new Document("id", 1), new IndexOptions().unique(true));
   }
 
+  public void setPoolSize(int poolSize) {
+    if (poolSize < 1)
+      throw new IllegalArgumentException("Pool size must be at least 1");
+    this.poolSize = poolSize;
+  }
+
+  @Override
+  public List<Knob> getKnobs() {
+    return List.of(new Knob("Pool_Size", 1, 200, new int[]{4, 16, 50, 128}, this::getPoolSize, this::setPoolSize));
+  }
+
   @Override
   public void wipe() {
     entries.deleteMany(new Document());
@@ -62,6 +78,11 @@ public class MongoDB implements Database {
     bulkWrite(entries, writable -> new UpdateOneModel<>(new Document("id", writable.getId()), new Document("$set", writable.toDocument())));
   }
 
+  @Override
+  public void upsert(@NotNull Entry @NotNull ... entries) {
+    bulkWrite(entries, writable -> new ReplaceOneModel<>(new Document("id", writable.getId()), writable.toDocument(), new ReplaceOptions().upsert(true)));
+  }
+
   @Override
   public void remove(@NotNull Integer @NotNull ... ids) {
     bulkWrite(ids, writable -> new DeleteOneModel<>(new Document("id", writable)));
@@ -76,10 +97,54 @@ public class MongoDB implements Database {
     return entries.find(new Document("id", id)).first() != null;
   }
 
+  @Override
+  public boolean[] existsAll(int... ids) {
+    Set<Integer> found = new HashSet<>();
+    for (Document document : entries.find(Filters.in("id", Arrays.stream(ids).boxed().toList())).projection(Projections.include("id")))
+      found.add(document.getInteger("id"));
+    return Database.present(ids, found);
+  }
+
   @Override
   public Map<Integer, Entry> select() {
+    return deserialize(this.entries.find());
+  }
+
+  @Override
+  public Map<Integer, Entry> selectByIds(int... ids) {
+    return deserialize(this.entries.find(Filters.in("id", Arrays.stream(ids).boxed().toList())));
+  }
+
+  @Override
+  public Map<Integer, Entry> select(int fromId, int toId) {
+    return deserialize(this.entries.find(Filters.and(Filters.gte("id", fromId), Filters.lt("id", toId))));
+  }
+
+  @Override
+  public void stream(int fetchSize, @NotNull Consumer<Entry[]> consumer) {
+    EntryBuffer buffer = new EntryBuffer(fetchSize, consumer);
+    for (Document document : this.entries.find().batchSize(fetchSize)) {
+      int id = document.getInteger("id");
+      buffer.add(new Entry(id,
+        document.getString("first_name"),
+        document.getString("middle_initial").charAt(0),
+        document.getString("last_name"),
+        document.getInteger("age"),
+        document.getDouble("net_worth")
+      ));
+    }
+    buffer.flush();
+  }
+
+  @Override
+  public Digest digest() {
+    return MongoDigest.aggregate(entries, MongoDigest.fieldsHash());
+  }
+
+
+  private Map<Integer, Entry> deserialize(Iterable<Document> documents) {
     Map<Integer, Entry> entries = new HashMap<>();
-    for (Document document : this.entries.find()) {
+    for (Document document : documents) {
       int id = document.getInteger("id");
       entries.put(id, new Entry(id,
         document.getString("first_name"),
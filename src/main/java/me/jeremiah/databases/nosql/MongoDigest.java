@@ -0,0 +1,100 @@
+package me.jeremiah.databases.nosql;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import me.jeremiah.databases.Digest;
+import org.bson.Document;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Digest's row hash as aggregation expressions. The pipeline language has no character codes, so a character's code
+// is its position in the printable ASCII range, and blob bytes are read back from their hex form (MongoDB 8.0+)
+final class MongoDigest {
+
+  private static final String PRINTABLE = IntStream.rangeClosed(' ', '~').mapToObj(Character::toString).collect(Collectors.joining());
+  private static final String HEX_DIGITS = "0123456789abcdef";
+  private static final List<Long> WEIGHTS = Digest.weights();
+
+  private MongoDigest() {
+  }
+
+  static Digest aggregate(MongoCollection<Document> entries, Object contentHash) {
+    Document id = new Document("$toLong", "$id");
+    Document rowHash = mod(multiply(mod(add(contentHash, id)), mod(add(multiply(id, 2L), 1L))));
+    Document digest = entries.aggregate(List.of(Aggregates.group(null,
+      Accumulators.sum("count", 1),
+      Accumulators.sum("ids", id),
+      Accumulators.sum("hash", rowHash)
+    ))).first();
+    if (digest == null)
+      return Digest.EMPTY;
+    return new Digest(
+      digest.get("count", Number.class).longValue(),
+      digest.get("ids", Number.class).longValue(),
+      digest.get("hash", Number.class).longValue()
+    );
+  }
+
+  static Document fieldsHash() {
+    Document scaledNetWorth = new Document("$toLong", new Document("$floor", multiply("$net_worth", Digest.NET_WORTH_SCALE)));
+    return add(
+      stringHash("$first_name", Digest.FIRST_NAME_OFFSET),
+      stringHash("$last_name", Digest.LAST_NAME_OFFSET),
+      term(charCode("$middle_initial"), Digest.weight(Digest.INITIAL_POSITION)),
+      term(new Document("$toLong", "$age"), Digest.weight(Digest.AGE_POSITION)),
+      term(mod(scaledNetWorth), Digest.weight(Digest.NET_WORTH_POSITION))
+    );
+  }
+
+  static Document bytesHash() {
+    Document hex = new Document("$toLower", new Document("$convert", new Document("input", "$data").append("to", "string").append("format", "hex")));
+    Document position = multiply("$$this", 2);
+    Document value = add(multiply(hexDigit(position), 16), hexDigit(add(position, 1)));
+    return new Document("$let", new Document("vars", new Document("hex", hex))
+      .append("in", sumOver(new Document("$binarySize", "$data"), term(value, weightAt(0)))));
+  }
+
+  private static Document stringHash(String field, int offset) {
+    Document character = new Document("$substrCP", List.of(field, "$$this", 1));
+    return sumOver(new Document("$strLenCP", field), term(charCode(character), weightAt(offset)));
+  }
+
+  // Sums a term over positions 0..length-1, with the position bound to $$this
+  private static Document sumOver(Object length, Object term) {
+    return new Document("$reduce", new Document("input", new Document("$range", List.of(0, length)))
+      .append("initialValue", 0L)
+      .append("in", add("$$value", term)));
+  }
+
+  private static Document weightAt(int offset) {
+    return new Document("$arrayElemAt", List.of(WEIGHTS, add("$$this", offset + 1)));
+  }
+
+  private static Document charCode(Object character) {
+    return add(new Document("$indexOfCP", List.of(PRINTABLE, character)), (int) ' ');
+  }
+
+  private static Document hexDigit(Object position) {
+    return new Document("$indexOfCP", List.of(HEX_DIGITS, new Document("$substrCP", List.of("$$hex", position, 1))));
+  }
+
+  private static Document term(Object value, Object weight) {
+    return mod(multiply(value, weight));
+  }
+
+  private static Document add(Object... operands) {
+    return new Document("$add", List.of(operands));
+  }
+
+  private static Document multiply(Object left, Object right) {
+    return new Document("$multiply", List.of(left, right));
+  }
+
+  private static Document mod(Object operand) {
+    return new Document("$mod", List.of(operand, Digest.MODULUS));
+  }
+
+}
@@ -2,13 +2,29 @@ package me.jeremiah.databases.nosql;
 
 import me.jeremiah.Entry;
 import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Digest;
+import me.jeremiah.databases.DigestCapable;
+import me.jeremiah.databases.EntryBuffer;
 import org.jetbrains.annotations.NotNull;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.*;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
-public class Neo4j implements Database {
+public class Neo4j implements Database, DigestCapable {
+
+  private static final String INSERT_STATEMENT = "UNWIND $batch AS row CREATE (e:Entry {id: row.id, first_name: row.first_name, middle_initial: row.middle_initial, last_name: row.last_name, age: row.age, net_worth: row.net_worth})";
+  private static final String UPDATE_STATEMENT = "UNWIND $batch AS row MATCH (e:Entry {id: row.id}) SET e.first_name = row.first_name, e.middle_initial = row.middle_initial, e.last_name = row.last_name, e.age = row.age, e.net_worth = row.net_worth";
+  private static final String UPSERT_STATEMENT = "UNWIND $batch AS row MERGE (e:Entry {id: row.id}) SET e.first_name = row.first_name, e.middle_initial = row.middle_initial, e.last_name = row.last_name, e.age = row.age, e.net_worth = row.net_worth";
+  private static final String REMOVE_STATEMENT = "UNWIND $ids AS id MATCH (e:Entry {id: id}) DETACH DELETE e";
+  private static final String EXISTS_STATEMENT = "MATCH (e:Entry {id: $id}) RETURN e";
+  private static final String EXISTS_ALL_STATEMENT = "UNWIND $ids AS id MATCH (e:Entry {id: id}) RETURN e.id AS id";
 
   private Driver driver;
 
@@ -39,12 +55,17 @@ public class Neo4j implements Database {
 
   @Override
   public void insert(@NotNull Entry @NotNull ... entries) {
-    alterEntries("UNWIND $batch AS row CREATE (e:Entry {id: row.id, first_name: row.first_name, middle_initial: row.middle_initial, last_name: row.last_name, age: row.age, net_worth: row.net_worth})", entries);
+    alterEntries(INSERT_STATEMENT, entries);
   }
 
   @Override
   public void update(@NotNull Entry @NotNull ... entries) {
-    alterEntries("UNWIND $batch AS row MATCH (e:Entry {id: row.id}) SET e.first_name = row.first_name, e.middle_initial = row.middle_initial, e.last_name = row.last_name, e.age = row.age, e.net_worth = row.net_worth", entries);
+    alterEntries(UPDATE_STATEMENT, entries);
+  }
+
+  @Override
+  public void upsert(@NotNull Entry @NotNull ... entries) {
+    alterEntries(UPSERT_STATEMENT, entries);
   }
 
   @Override
@@ -52,7 +73,7 @@ public class Neo4j implements Database {
     try (Session session = driver.session(SessionConfig.forDatabase("neo4j"));
          Transaction tx = session.beginTransaction()) {
       List<Integer> idList = Arrays.asList(ids);
-      tx.run("UNWIND $ids AS id MATCH (e:Entry {id: id}) DETACH DELETE e", Values.parameters("ids", idList));
+      tx.run(REMOVE_STATEMENT, Values.parameters("ids", idList));
       tx.commit();
     }
   }
@@ -60,47 +81,141 @@ public class Neo4j implements Database {
   @Override
   public boolean exists(int id) {
     try (Session session = driver.session(SessionConfig.forDatabase("neo4j"))) {
-      Result result = session.run("MATCH (e:Entry {id: $id}) RETURN e", Values.parameters("id", id));
+      Result result = session.run(EXISTS_STATEMENT, Values.parameters("id", id));
       return result.hasNext();
     }
   }
 
+  @Override
+  public boolean[] existsAll(int... ids) {
+    Set<Integer> found = new HashSet<>();
+    try (Session session = driver.session(SessionConfig.forDatabase("neo4j"))) {
+      Result result = session.run(EXISTS_ALL_STATEMENT, Values.parameters("ids", ids));
+      while (result.hasNext())
+        found.add(result.next().get("id").asInt());
+    }
+    return Database.present(ids, found);
+  }
+
+  @Override
+  public CompletableFuture<Void> insertAsync(@NotNull Entry @NotNull ... entries) {
+    return writeAsync(INSERT_STATEMENT, Values.parameters("batch", toRecords(entries)));
+  }
+
+  @Override
+  public CompletableFuture<Void> updateAsync(@NotNull Entry @NotNull ... entries) {
+    return writeAsync(UPDATE_STATEMENT, Values.parameters("batch", toRecords(entries)));
+  }
+
+  @Override
+  public CompletableFuture<Void> upsertAsync(@NotNull Entry @NotNull ... entries) {
+    return writeAsync(UPSERT_STATEMENT, Values.parameters("batch", toRecords(entries)));
+  }
+
+  @Override
+  public CompletableFuture<Void> removeAsync(@NotNull Integer @NotNull ... ids) {
+    return writeAsync(REMOVE_STATEMENT, Values.parameters("ids", Arrays.asList(ids)));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> existsAsync(int id) {
+    return withAsyncSession(session -> session.executeReadAsync(tx -> tx.runAsync(EXISTS_STATEMENT, Values.parameters("id", id))
+      .thenCompose(ResultCursor::nextAsync)
+      .thenApply(Objects::nonNull)));
+  }
+
   @Override
   public Map<Integer, Entry> select() {
+    return selectEntries("MATCH (e:Entry) RETURN e.id AS id, e.first_name AS first_name, e.middle_initial AS middle_initial, e.last_name AS last_name, e.age AS age, e.net_worth AS net_worth", Values.parameters());
+  }
+
+  @Override
+  public Map<Integer, Entry> select(int fromId, int toId) {
+    return selectEntries("MATCH (e:Entry) WHERE e.id >= $from AND e.id < $to RETURN e.id AS id, e.first_name AS first_name, e.middle_initial AS middle_initial, e.last_name AS last_name, e.age AS age, e.net_worth AS net_worth",
+      Values.parameters("from", fromId, "to", toId));
+  }
+
+  @Override
+  public Map<Integer, Entry> selectByIds(int... ids) {
+    return selectEntries("UNWIND $ids AS id MATCH (e:Entry {id: id}) RETURN e.id AS id, e.first_name AS first_name, e.middle_initial AS middle_initial, e.last_name AS last_name, e.age AS age, e.net_worth AS net_worth", Values.parameters("ids", ids));
+  }
+
+  @Override
+  public void stream(int fetchSize, @NotNull Consumer<Entry[]> consumer) {
+    EntryBuffer buffer = new EntryBuffer(fetchSize, consumer);
+    try (Session session = driver.session(SessionConfig.builder().withDatabase("neo4j").withFetchSize(fetchSize).build())) {
+      Result result = session.run("MATCH (e:Entry) RETURN e.id AS id, e.first_name AS first_name, e.middle_initial AS middle_initial, e.last_name AS last_name, e.age AS age, e.net_worth AS net_worth");
+      while (result.hasNext())
+        buffer.add(deserialize(result.next()));
+    }
+    buffer.flush();
+  }
+
+  @Override
+  public Digest digest() {
+    try (Session session = driver.session(SessionConfig.forDatabase("neo4j"))) {
+      return CypherDigest.run(session, CypherDigest.FIELDS_HASH);
+    }
+  }
+
+  private Map<Integer, Entry> selectEntries(String query, Value parameters) {
     Map<Integer, Entry> entries = new HashMap<>();
     try (Session session = driver.session(SessionConfig.forDatabase("neo4j"))) {
-      Result result = session.run("MATCH (e:Entry) RETURN e.id AS id, e.first_name AS first_name, e.middle_initial AS middle_initial, e.last_name AS last_name, e.age AS age, e.net_worth AS net_worth");
+      Result result = session.run(query, parameters);
       while (result.hasNext()) {
-        Record record = result.next();
-        int id = record.get("id").asInt();
-        String firstName = record.get("first_name").asString();
-        char middleInitial = record.get("middle_initial").asString().charAt(0);
-        String lastName = record.get("last_name").asString();
-        int age = record.get("age").asInt();
-        double netWorth = record.get("net_worth").asDouble();
-        entries.put(id, new Entry(id, firstName, middleInitial, lastName, age, netWorth));
+        Entry entry = deserialize(result.next());
+        entries.put(entry.getId(), entry);
       }
     }
     return entries;
   }
 
+  private Entry deserialize(Record record) {
+    int id = record.get("id").asInt();
+    String firstName = record.get("first_name").asString();
+    char middleInitial = record.get("middle_initial").asString().charAt(0);
+    String lastName = record.get("last_name").asString();
+    int age = record.get("age").asInt();
+    double netWorth = record.get("net_worth").asDouble();
+    return new Entry(id, firstName, middleInitial, lastName, age, netWorth);
+  }
+
   private void alterEntries(String statement, Entry[] entries) {
     try (Session session = driver.session(SessionConfig.forDatabase("neo4j"));
          Transaction tx = session.beginTransaction()) {
-      List<Value> records = new ArrayList<>();
-      for (Entry entry : entries) {
-        records.add(Values.parameters(
-          "id", entry.getId(),
-          "first_name", entry.getFirstName(),
-          "middle_initial", String.valueOf(entry.getMiddleInitial()),
-          "last_name", entry.getLastName(),
-          "age", entry.getAge(),
-          "net_worth", entry.getNetWorth()
-        ));
-      }
-      tx.run(statement, Values.parameters("batch", records));
+      tx.run(statement, Values.parameters("batch", toRecords(entries)));
       tx.commit();
     }
   }
 
+  private static List<Value> toRecords(Entry[] entries) {
+    List<Value> records = new ArrayList<>();
+    for (Entry entry : entries) {
+      records.add(Values.parameters(
+        "id", entry.getId(),
+        "first_name", entry.getFirstName(),
+        "middle_initial", String.valueOf(entry.getMiddleInitial()),
+        "last_name", entry.getLastName(),
+        "age", entry.getAge(),
+        "net_worth", entry.getNetWorth()
+      ));
+    }
+    return records;
+  }
+
+  private CompletableFuture<Void> writeAsync(String statement, Value parameters) {
+    return withAsyncSession(session -> session.executeWriteAsync(tx -> tx.runAsync(statement, parameters)
+      .thenCompose(ResultCursor::consumeAsync)))
+      .thenApply(_ -> null);
+  }
+
+  private <T> CompletableFuture<T> withAsyncSession(Function<AsyncSession, CompletionStage<T>> work) {
+    AsyncSession session = driver.session(AsyncSession.class, SessionConfig.forDatabase("neo4j"));
+    return work.apply(session)
+      .handle((result, failure) -> session.closeAsync()
+        .thenCompose(_ -> failure == null ? CompletableFuture.completedFuture(result) : CompletableFuture.<T>failedFuture(failure)))
+      .thenCompose(Function.identity())
+      .toCompletableFuture();
+  }
+
 }
\ No newline at end of file
@@ -3,59 +3,112 @@ package me.jeremiah.databases.nosql;
 import me.jeremiah.Entry;
 import me.jeremiah.ExceptionManager;
 import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Digest;
+import me.jeremiah.databases.DigestCapable;
+import me.jeremiah.databases.EntryBuffer;
+import me.jeremiah.databases.Knob;
+import me.jeremiah.databases.MemoryReporting;
+import me.jeremiah.databases.Tunable;
 import org.jetbrains.annotations.NotNull;
 import redis.clients.jedis.*;
-import redis.clients.jedis.params.ScanParams;
-import redis.clients.jedis.resps.ScanResult;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-public class Redis implements Database {
-
-  private JedisPool jedisPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+public class Redis implements Database, DigestCapable, MemoryReporting, Tunable {
+
+  // Entries live under a key prefix and their ids in a sorted set, so reads walk only this adapter's keys in id order
+  static final String KEY_PREFIX = "entry:";
+  static final String IDS_KEY = "entry-ids";
+
+  // Hashes one page of the id set server-side
+  private static final String DIGEST_SCRIPT = RedisDigest.script("""
+    local members = redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[1], '+inf', 'LIMIT', 0, ARGV[2])
+    local count, ids, hash = 0, 0, 0
+    for _, member in ipairs(members) do
+      local id = tonumber(member)
+      local fields = redis.call('HMGET', ARGV[3] .. member, 'first_name', 'middle_initial', 'last_name', 'age', 'net_worth')
+      if fields[1] then
+        local content = stringHash(fields[1], %d) + stringHash(fields[3], %d)
+          + mulmod(string.byte(fields[2]), weights[%d])
+          + mulmod(tonumber(fields[4]) %% modulus, weights[%d])
+          + mulmod(math.floor(tonumber(fields[5]) * %d) %% modulus, weights[%d])
+        count = count + 1
+        ids = (ids + id) %% modulus
+        hash = (hash + rowHash(id, content)) %% modulus
+      end
+    end
+    local next = #members < tonumber(ARGV[2]) and '' or '(' .. members[#members]
+    return {next, count, ids, hash}
+    """.formatted(Digest.FIRST_NAME_OFFSET, Digest.LAST_NAME_OFFSET, Digest.INITIAL_POSITION + 1, Digest.AGE_POSITION + 1,
+    Digest.NET_WORTH_SCALE, Digest.NET_WORTH_POSITION + 1));
+
+  private final RedisPipeliner pipeliner = new RedisPipeliner(this);
 
   @Override
   public void open() {
-    JedisPoolConfig poolConfig = new JedisPoolConfig();
-    poolConfig.setMaxTotal(128);
-    poolConfig.setMaxIdle(128);
-    poolConfig.setMinIdle(16);
-    jedisPool = new JedisPool(poolConfig, "localhost", 6379, 100000);
+    pipeliner.open();
+  }
+
+  @Override
+  public List<Knob> getKnobs() {
+    return pipeliner.getKnobs();
   }
 
   @Override
   public void close() {
-    jedisPool.close();
+    pipeliner.close();
   }
 
   @Override
   public void wipe() {
-    try (Jedis jedis = jedisPool.getResource()) {
-      jedis.flushAll();
+    try {
+      pipeliner.wipe(IDS_KEY, KEY_PREFIX);
     } catch (Exception exception) {
       ExceptionManager.handleException(this, exception);
     }
   }
 
+  @Override
+  public long getUsedMemory() {
+    try (Jedis jedis = pipeliner.getResource()) {
+      return usedMemory(jedis);
+    }
+  }
+
   @Override
   public void insert(@NotNull Entry @NotNull ... entries) {
-    try (Jedis jedis = jedisPool.getResource()) {
-      Pipeline pipeline = jedis.pipelined();
-      for (Entry entry : entries) {
-        String key = String.valueOf(entry.getId());
-        Map<String, String> entryMap = new HashMap<>();
-        entryMap.put("first_name", entry.getFirstName());
-        entryMap.put("middle_initial", String.valueOf(entry.getMiddleInitial()));
-        entryMap.put("last_name", entry.getLastName());
-        entryMap.put("age", String.valueOf(entry.getAge()));
-        entryMap.put("net_worth", String.valueOf(entry.getNetWorth()));
-        pipeline.hmset(key, entryMap);
+    pipeliner.handlePipelined(entries, (pipeline, chunk) -> {
+      Map<String, Double> ids = new HashMap<>();
+      for (Entry entry : chunk) {
+        pipeline.hset(key(entry.getId()), toHash(entry));
+        ids.put(String.valueOf(entry.getId()), (double) entry.getId());
       }
-      pipeline.sync();
-    }
+      pipeline.zadd(IDS_KEY, ids);
+    });
+  }
+
+  static long usedMemory(Jedis jedis) {
+    return jedis.info("memory").lines()
+      .filter(line -> line.startsWith("used_memory:"))
+      .mapToLong(line -> Long.parseLong(line.substring("used_memory:".length()).trim()))
+      .findFirst()
+      .orElseThrow(() -> new IllegalStateException("INFO memory did not report used_memory"));
+  }
+
+  static Map<String, String> toHash(Entry entry) {
+    Map<String, String> entryMap = new HashMap<>();
+    entryMap.put("first_name", entry.getFirstName());
+    entryMap.put("middle_initial", String.valueOf(entry.getMiddleInitial()));
+    entryMap.put("last_name", entry.getLastName());
+    entryMap.put("age", String.valueOf(entry.getAge()));
+    entryMap.put("net_worth", String.valueOf(entry.getNetWorth()));
+    return entryMap;
   }
 
   @Override
@@ -63,57 +116,120 @@ public class Redis implements Database {
     insert(entries);
   }
 
+  @Override
+  public void upsert(@NotNull Entry @NotNull ... entries) {
+    insert(entries);
+  }
+
   @Override
   public void remove(@NotNull Integer @NotNull ... ids) {
-    try (Jedis jedis = jedisPool.getResource()) {
-      Pipeline pipeline = jedis.pipelined();
-      for (int id : ids) {
-        pipeline.del(String.valueOf(id));
-      }
-      pipeline.sync();
-    }
+    pipeliner.handlePipelined(ids, (pipeline, chunk) -> {
+      pipeline.del(Arrays.stream(chunk).map(Redis::key).toArray(String[]::new));
+      pipeline.zrem(IDS_KEY, Arrays.stream(chunk).map(String::valueOf).toArray(String[]::new));
+    });
   }
 
   @Override
   public boolean exists(int id) {
-    try (Jedis jedis = jedisPool.getResource()) {
-      return jedis.exists(String.valueOf(id));
+    try (Jedis jedis = pipeliner.getResource()) {
+      return jedis.exists(key(id));
     }
   }
 
+  @Override
+  public boolean[] existsAll(int... ids) {
+    boolean[] found = new boolean[ids.length];
+    try (Jedis jedis = pipeliner.getResource()) {
+      Pipeline pipeline = jedis.pipelined();
+      List<Response<Boolean>> responses = new ArrayList<>(ids.length);
+      for (int id : ids)
+        responses.add(pipeline.exists(key(id)));
+      pipeline.sync();
+      for (int i = 0; i < ids.length; i++)
+        found[i] = responses.get(i).get();
+    }
+    return found;
+  }
+
   @Override
   public Map<Integer, Entry> select() {
     Map<Integer, Entry> entries = new HashMap<>();
-    try (Jedis jedis = jedisPool.getResource()) {
-      String cursor = "0";
-      ScanParams scanParams = new ScanParams().match("*").count(1000);
-      List<String> keys = new ArrayList<>();
+    stream(1000, chunk -> {
+      for (Entry entry : chunk)
+        entries.put(entry.getId(), entry);
+    });
+    return entries;
+  }
+
+  @Override
+  public Digest digest() {
+    try (Jedis jedis = pipeliner.getResource()) {
+      return RedisDigest.run(jedis, DIGEST_SCRIPT, IDS_KEY, 1000, KEY_PREFIX);
+    }
+  }
 
+  // Pages through the id set by score so only one page of ids is held at a time
+  @Override
+  public void stream(int fetchSize, @NotNull Consumer<Entry[]> consumer) {
+    EntryBuffer buffer = new EntryBuffer(fetchSize, consumer);
+    try (Jedis jedis = pipeliner.getResource()) {
+      String min = "-inf";
+      List<String> ids;
       do {
-        ScanResult<String> scanResult = jedis.scan(cursor, scanParams);
-        keys.addAll(scanResult.getResult());
-        cursor = scanResult.getCursor();
-      } while (!cursor.equals("0"));
+        ids = jedis.zrangeByScore(IDS_KEY, min, "+inf", 0, fetchSize);
+        Pipeline pipeline = jedis.pipelined();
+        List<Response<Map<String, String>>> responses = new ArrayList<>(ids.size());
+        for (String id : ids)
+          responses.add(pipeline.hgetAll(KEY_PREFIX + id));
+        pipeline.sync();
+
+        for (int i = 0; i < ids.size(); i++) {
+          Map<String, String> entryMap = responses.get(i).get();
+          if (!entryMap.isEmpty())
+            buffer.add(fromHash(Integer.parseInt(ids.get(i)), entryMap));
+        }
+        if (!ids.isEmpty())
+          min = "(" + ids.getLast();
+      } while (ids.size() == fetchSize);
+    }
+    buffer.flush();
+  }
+
+  @Override
+  public Map<Integer, Entry> select(int fromId, int toId) {
+    return selectByIds(IntStream.range(fromId, toId).toArray());
+  }
 
+  @Override
+  public Map<Integer, Entry> selectByIds(int... ids) {
+    Map<Integer, Entry> entries = new HashMap<>();
+    try (Jedis jedis = pipeliner.getResource()) {
       Pipeline pipeline = jedis.pipelined();
-      List<Response<Map<String, String>>> responses = new ArrayList<>();
-      for (String key : keys) {
-        responses.add(pipeline.hgetAll(key));
-      }
+      List<Response<Map<String, String>>> responses = new ArrayList<>(ids.length);
+      for (int id : ids)
+        responses.add(pipeline.hgetAll(key(id)));
       pipeline.sync();
 
-      for (int i = 0; i < keys.size(); i++) {
+      for (int i = 0; i < ids.length; i++) {
         Map<String, String> entryMap = responses.get(i).get();
-        int id = Integer.parseInt(keys.get(i));
-        String firstName = entryMap.get("first_name");
-        char middleInitial = entryMap.get("middle_initial").charAt(0);
-        String lastName = entryMap.get("last_name");
-        int age = Integer.parseInt(entryMap.get("age"));
-        double netWorth = Double.parseDouble(entryMap.get("net_worth"));
-        entries.put(id, new Entry(id, firstName, middleInitial, lastName, age, netWorth));
+        if (!entryMap.isEmpty())
+          entries.put(ids[i], fromHash(ids[i], entryMap));
       }
     }
     return entries;
   }
 
-}
\ No newline at end of file
+  private static String key(int id) {
+    return KEY_PREFIX + id;
+  }
+
+  static Entry fromHash(int id, Map<String, String> entryMap) {
+    String firstName = entryMap.get("first_name");
+    char middleInitial = entryMap.get("middle_initial").charAt(0);
+    String lastName = entryMap.get("last_name");
+    int age = Integer.parseInt(entryMap.get("age"));
+    double netWorth = Double.parseDouble(entryMap.get("net_worth"));
+    return new Entry(id, firstName, middleInitial, lastName, age, netWorth);
+  }
+
+}
@@ -0,0 +1,54 @@
+package me.jeremiah.databases.nosql;
+
+import me.jeremiah.databases.Digest;
+import redis.clients.jedis.Jedis;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Digest's row hash as a Lua prelude for the Redis adapters' paged digest scripts. Lua numbers are doubles, so
+// products are split into 16-bit halves to stay below 2^53; weights[k + 1] is the weight of position k.
+// The scripts build entry keys from ARGV[3] and the index members rather than declaring them in KEYS, so they only
+// run on a standalone server: Redis Cluster requires every key a script touches to be declared and in one slot
+final class RedisDigest {
+
+  private static final String PRELUDE = """
+    local modulus = %d
+    local weights = {%s}
+    local function mulmod(a, b)
+      return ((a * math.floor(b / 65536)) %% modulus * 65536 + a * (b %% 65536)) %% modulus
+    end
+    local function rowHash(id, content)
+      return mulmod((content + id) %% modulus, (2 * id + 1) %% modulus)
+    end
+    local function stringHash(value, offset)
+      local hash = 0
+      for k = 1, #value do
+        hash = hash + mulmod(string.byte(value, k), weights[offset + k + 1])
+      end
+      return hash
+    end
+    """.formatted(Digest.MODULUS, Digest.weights().stream().map(String::valueOf).collect(Collectors.joining(", ")));
+
+  private RedisDigest() {
+  }
+
+  // A page script reads KEYS[1] from ARGV[1] for ARGV[2] members and returns {next, count, ids, hash}, where next is
+  // the exclusive score to resume from, empty once done
+  static String script(String page) {
+    return PRELUDE + page;
+  }
+
+  static Digest run(Jedis jedis, String script, String indexKey, int pageSize, String keyPrefix) {
+    Digest digest = Digest.EMPTY;
+    String sha = jedis.scriptLoad(script);
+    String cursor = "-inf";
+    do {
+      List<?> page = (List<?>) jedis.evalsha(sha, List.of(indexKey), List.of(cursor, String.valueOf(pageSize), keyPrefix));
+      cursor = (String) page.get(0);
+      digest = digest.add(new Digest((Long) page.get(1), (Long) page.get(2), (Long) page.get(3)));
+    } while (!cursor.isEmpty());
+    return digest;
+  }
+
+}
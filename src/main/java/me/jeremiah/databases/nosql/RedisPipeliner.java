@@ -0,0 +1,141 @@
+package me.jeremiah.databases.nosql;
+
+import com.google.common.primitives.Bytes;
+import lombok.Getter;
+import me.jeremiah.ExceptionManager;
+import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Knob;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Connection pool and pipelined write path shared by the Redis adapters
+class RedisPipeliner {
+
+  private final Database database;
+  @Getter
+  private int poolSize = 128;
+  // Commands buffered per connection before their replies are read
+  @Getter
+  private int pipelineSize = 1_000;
+  @Getter
+  private int pipelineConnections = 4;
+  private JedisPool jedisPool;
+  private ExecutorService pipelineExecutor;
+
+  RedisPipeliner(Database database) {
+    this.database = database;
+  }
+
+  void open() {
+    JedisPoolConfig poolConfig = new JedisPoolConfig();
+    poolConfig.setMaxTotal(poolSize);
+    poolConfig.setMaxIdle(poolSize);
+    poolConfig.setMinIdle(Math.min(poolSize, 16));
+    jedisPool = new JedisPool(poolConfig, "localhost", 6379, 100000);
+    pipelineExecutor = Executors.newCachedThreadPool();
+  }
+
+  void close() {
+    pipelineExecutor.close();
+    pipelineExecutor = null;
+    jedisPool.close();
+  }
+
+  Jedis getResource() {
+    return jedisPool.getResource();
+  }
+
+  void setPoolSize(int poolSize) {
+    if (poolSize < 1)
+      throw new IllegalArgumentException("Pool size must be at least 1");
+    this.poolSize = poolSize;
+  }
+
+  void setPipelineSize(int pipelineSize) {
+    if (pipelineSize < 1)
+      throw new IllegalArgumentException("Pipeline size must be at least 1");
+    this.pipelineSize = pipelineSize;
+  }
+
+  void setPipelineConnections(int pipelineConnections) {
+    if (pipelineConnections < 1)
+      throw new IllegalArgumentException("Pipeline connections must be at least 1");
+    this.pipelineConnections = pipelineConnections;
+  }
+
+  List<Knob> getKnobs() {
+    return List.of(
+      new Knob("Pool_Size", 1, 256, new int[]{4, 16, 64, 128}, this::getPoolSize, this::setPoolSize),
+      new Knob("Pipeline_Size", 10, 20_000, new int[]{100, 500, 1_000, 5_000}, this::getPipelineSize, this::setPipelineSize),
+      new Knob("Pipeline_Connections", 1, 32, new int[]{1, 2, 4, 8}, this::getPipelineConnections, this::setPipelineConnections)
+    );
+  }
+
+  // Deletes the keys an index set points at a page at a time, then the set itself, leaving other keys on the server
+  // alone; members are handled as raw bytes so binary ids resolve to the same keys they were written under
+  void wipe(String indexKey, String keyPrefix) {
+    byte[] index = indexKey.getBytes(StandardCharsets.UTF_8);
+    byte[] prefix = keyPrefix.getBytes(StandardCharsets.UTF_8);
+    try (Jedis jedis = jedisPool.getResource()) {
+      List<byte[]> members;
+      while (!(members = jedis.zrange(index, 0, pipelineSize - 1)).isEmpty()) {
+        Pipeline pipeline = jedis.pipelined();
+        pipeline.del(members.stream().map(member -> Bytes.concat(prefix, member)).toArray(byte[][]::new));
+        pipeline.zrem(index, members.toArray(byte[][]::new));
+        pipeline.sync();
+      }
+      jedis.del(index);
+    }
+  }
+
+  // Splits the writables across up to pipelineConnections pooled connections; each connection syncs
+  // every pipelineSize entries so client-side reply buffers stay bounded
+  <W> void handlePipelined(W[] writables, PipelineAction<W> action) {
+    int slices = Math.min(Math.min(pipelineConnections, poolSize), (writables.length + pipelineSize - 1) / pipelineSize);
+    if (slices <= 1) {
+      pipelineSlice(writables, action);
+      return;
+    }
+
+    List<Future<?>> futures = new ArrayList<>(slices);
+    for (int slice = 0; slice < slices; slice++) {
+      W[] writableSlice = Arrays.copyOfRange(writables, writables.length * slice / slices, writables.length * (slice + 1) / slices);
+      futures.add(pipelineExecutor.submit(() -> pipelineSlice(writableSlice, action)));
+    }
+    for (Future<?> future : futures)
+      try {
+        future.get();
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        ExceptionManager.handleException(database, exception);
+      } catch (ExecutionException exception) {
+        ExceptionManager.handleException(database, exception.getCause() instanceof Exception cause ? cause : exception);
+      }
+  }
+
+  private <W> void pipelineSlice(W[] writables, PipelineAction<W> action) {
+    try (Jedis jedis = jedisPool.getResource()) {
+      Pipeline pipeline = jedis.pipelined();
+      for (int from = 0; from < writables.length; from += pipelineSize) {
+        action.accept(pipeline, Arrays.copyOfRange(writables, from, Math.min(from + pipelineSize, writables.length)));
+        pipeline.sync();
+      }
+    }
+  }
+
+  interface PipelineAction<W> {
+    void accept(Pipeline pipeline, W[] chunk);
+  }
+
+}
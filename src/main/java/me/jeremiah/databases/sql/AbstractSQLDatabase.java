@@ -3,23 +3,53 @@ package me.jeremiah.databases.sql;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import lombok.Getter;
+import lombok.Setter;
 import me.jeremiah.Entry;
 import me.jeremiah.ExceptionManager;
 import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Digest;
+import me.jeremiah.databases.DigestCapable;
+import me.jeremiah.databases.EntryBuffer;
+import me.jeremiah.databases.Knob;
+import me.jeremiah.databases.Tunable;
 import org.jetbrains.annotations.NotNull;
 
 import java.sql.*;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
-abstract class AbstractSQLDatabase extends SQLStatementHandler implements Database {
+public abstract class AbstractSQLDatabase extends SQLStatementHandler implements Database, DigestCapable, Tunable {
 
-  private static final int MAX_BATCH_SIZE = 1000;
+  private static final int MIN_PARTITION_SIZE = 100;
 
   @Getter
   private final HikariConfig config;
   private HikariDataSource dataSource;
+  private ExecutorService writeExecutor;
+  @Getter
+  private int writeParallelism = 1;
+  @Getter
+  private int batchSize = 1000;
+  // 0 leaves the driver default in place
+  @Getter
+  private int fetchSize = 0;
+  @Getter
+  private InsertStrategy insertStrategy = InsertStrategy.BATCHED;
+  @Getter
+  private RemoveStrategy removeStrategy = RemoveStrategy.BATCHED;
+  @Getter
+  private UpdateStrategy updateStrategy = UpdateStrategy.BATCHED;
+  private final AtomicLong stagingBatches = new AtomicLong();
+  @Getter
+  @Setter
+  private int maxStatementParameters = 32_766;
 
   public AbstractSQLDatabase(Class<? extends Driver> driver, String url) {
     if (DriverManager.drivers().noneMatch(driver::isInstance))
@@ -47,6 +77,7 @@ abstract class AbstractSQLDatabase extends SQLStatementHandler implements Databa
     if (dataSource != null)
       throw new IllegalStateException("Database is already open");
     dataSource = new HikariDataSource(config);
+    writeExecutor = Executors.newCachedThreadPool();
     try (Connection connection = dataSource.getConnection();
          Statement statement = connection.createStatement()) {
       reloadTable(connection, statement);
@@ -56,6 +87,13 @@ abstract class AbstractSQLDatabase extends SQLStatementHandler implements Databa
   }
 
   protected void reloadTable(Connection connection, Statement statement) {
+    if (updateStrategy == UpdateStrategy.STAGED)
+      try {
+        statement.execute(getDropStagingTableStatement());
+        connection.commit();
+      } catch (SQLException exception) {
+        ExceptionManager.handleException(this, exception);
+      }
     try {
       statement.execute(getDropTableStatement());
       connection.commit();
@@ -69,16 +107,110 @@ abstract class AbstractSQLDatabase extends SQLStatementHandler implements Databa
     } catch (SQLException exception) {
       ExceptionManager.handleException(this, exception);
     }
+    if (updateStrategy == UpdateStrategy.STAGED)
+      try {
+        statement.execute(getCreateStagingTableStatement());
+        connection.commit();
+      } catch (SQLException exception) {
+        ExceptionManager.handleException(this, exception);
+      }
   }
 
   @Override
   public void close() {
     if (dataSource == null)
       throw new IllegalStateException("Database is already closed");
+    writeExecutor.close();
+    writeExecutor = null;
     dataSource.close();
     dataSource = null;
   }
 
+  public void setWriteParallelism(int writeParallelism) {
+    if (writeParallelism < 1)
+      throw new IllegalArgumentException("Write parallelism must be at least 1");
+    this.writeParallelism = writeParallelism;
+  }
+
+  public int getPoolSize() {
+    return config.getMaximumPoolSize();
+  }
+
+  public void setPoolSize(int poolSize) {
+    if (poolSize < 1)
+      throw new IllegalArgumentException("Pool size must be at least 1");
+    config.setMaximumPoolSize(poolSize);
+    config.setMinimumIdle(Math.min(poolSize, 10));
+  }
+
+  public void setBatchSize(int batchSize) {
+    if (batchSize < 1)
+      throw new IllegalArgumentException("Batch size must be at least 1");
+    this.batchSize = batchSize;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    if (fetchSize < 0)
+      throw new IllegalArgumentException("Fetch size cannot be negative");
+    this.fetchSize = fetchSize;
+  }
+
+  @Override
+  public List<Knob> getKnobs() {
+    return List.of(
+      new Knob("Pool_Size", 1, 64, new int[]{2, 8, 20, 48}, this::getPoolSize, this::setPoolSize),
+      new Knob("Batch_Size", 50, 10_000, new int[]{100, 500, 1_000, 5_000}, this::getBatchSize, this::setBatchSize),
+      new Knob("Fetch_Size", 0, 10_000, new int[]{0, 100, 1_000, 10_000}, this::getFetchSize, this::setFetchSize)
+    );
+  }
+
+  public boolean supports(InsertStrategy insertStrategy) {
+    return insertStrategy != InsertStrategy.ARRAY_BOUND || getArrayInsertStatement() != null;
+  }
+
+  public boolean supports(RemoveStrategy removeStrategy) {
+    return removeStrategy != RemoveStrategy.ARRAY_BOUND || getArrayRemoveStatement() != null;
+  }
+
+  public boolean supports(UpdateStrategy updateStrategy) {
+    return updateStrategy != UpdateStrategy.STAGED || getMergeStagingStatement() != null;
+  }
+
+  public void setInsertStrategy(InsertStrategy insertStrategy) {
+    if (!supports(insertStrategy))
+      throw new IllegalArgumentException(getBaseName() + " does not support " + insertStrategy.getName() + " inserts");
+    this.insertStrategy = insertStrategy;
+  }
+
+  public void setRemoveStrategy(RemoveStrategy removeStrategy) {
+    if (!supports(removeStrategy))
+      throw new IllegalArgumentException(getBaseName() + " does not support " + removeStrategy.getName() + " removes");
+    this.removeStrategy = removeStrategy;
+  }
+
+  public void setUpdateStrategy(UpdateStrategy updateStrategy) {
+    if (!supports(updateStrategy))
+      throw new IllegalArgumentException(getBaseName() + " does not support " + updateStrategy.getName() + " updates");
+    this.updateStrategy = updateStrategy;
+  }
+
+  @Override
+  public String getName() {
+    return String.join("-", getNameParts());
+  }
+
+  protected List<String> getNameParts() {
+    List<String> parts = new ArrayList<>();
+    parts.add(getBaseName());
+    if (insertStrategy != InsertStrategy.BATCHED)
+      parts.add(insertStrategy.getName());
+    if (removeStrategy != RemoveStrategy.BATCHED)
+      parts.add(removeStrategy.getName());
+    if (updateStrategy != UpdateStrategy.BATCHED)
+      parts.add(updateStrategy.getName());
+    return parts;
+  }
+
   @Override
   public void wipe() {
     handle(getTableWipeStatement());
@@ -86,17 +218,79 @@ abstract class AbstractSQLDatabase extends SQLStatementHandler implements Databa
 
   @Override
   public void insert(@NotNull Entry @NotNull ... entries) {
-    handleBatchAction(getInsertEntryStatement(), entries, this::parseInsert);
+    switch (insertStrategy) {
+      case BATCHED -> handleBatchAction(getInsertEntryStatement(), entries, Entry::getId, this::parseInsert);
+      case MULTI_ROW -> handlePartitioned(entries, Entry::getId, this::insertMultiRow);
+      case ARRAY_BOUND -> handlePartitioned(entries, Entry::getId, slice ->
+        handleChunkedAction(slice, batchSize, _ -> getArrayInsertStatement(), this::parseArrayInsert));
+    }
+  }
+
+  private void insertMultiRow(Entry[] entries) {
+    String statement = getInsertEntryStatement();
+    int values = statement.toUpperCase().lastIndexOf("VALUES") + "VALUES".length();
+    String prefix = statement.substring(0, values) + " ";
+    String row = statement.substring(values).trim();
+    int parameters = (int) row.chars().filter(character -> character == '?').count();
+    int rowsPerStatement = Math.max(1, Math.min(batchSize, maxStatementParameters / parameters));
+    handleChunkedAction(entries, rowsPerStatement, rows -> prefix + String.join(",", Collections.nCopies(rows, row)), (chunk, preparedStatement) -> {
+      for (int i = 0; i < chunk.length; i++)
+        parseInsert(chunk[i], preparedStatement, i * parameters);
+    });
   }
 
   @Override
   public void update(@NotNull Entry @NotNull ... entries) {
-    handleBatchAction(getUpdateEntryStatement(), entries, this::parseUpdate);
+    switch (updateStrategy) {
+      case BATCHED -> handleBatchAction(getUpdateEntryStatement(), entries, Entry::getId, this::parseUpdate);
+      case STAGED -> handlePartitioned(entries, Entry::getId, this::updateStaged);
+    }
+  }
+
+  @Override
+  public void upsert(@NotNull Entry @NotNull ... entries) {
+    handleBatchAction(getUpsertEntryStatement(), entries, Entry::getId, this::parseInsert);
+  }
+
+  // Stages the rows under a batch id of their own, so concurrent callers can share the staging table,
+  // then applies them to entries with one set-based join
+  private void updateStaged(Entry[] entries) {
+    long batch = stagingBatches.incrementAndGet();
+    String stagingInsert = getInsertEntryStatement()
+      .replaceFirst("INSERT INTO entries \\(", "INSERT INTO entries_staging (batch_id, ")
+      .replaceFirst("VALUES \\(", "VALUES (?,");
+    try (Connection connection = dataSource.getConnection()) {
+      try (PreparedStatement preparedStatement = connection.prepareStatement(stagingInsert)) {
+        executeBatches(preparedStatement, entries, (entry, statement) -> {
+          statement.setLong(1, batch);
+          parseInsert(entry, statement, 1);
+        });
+      }
+      for (String statement : List.of(getMergeStagingStatement(), getClearStagingStatement()))
+        try (PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
+          preparedStatement.setLong(1, batch);
+          preparedStatement.executeUpdate();
+        }
+      connection.commit();
+    } catch (SQLException exception) {
+      ExceptionManager.handleException(this, exception);
+    }
   }
 
   @Override
   public void remove(@NotNull Integer @NotNull ... ids) {
-    handleBatchAction(getRemoveEntryStatement(), ids, this::parseRemove);
+    switch (removeStrategy) {
+      case BATCHED -> handleBatchAction(getRemoveEntryStatement(), ids, Integer::intValue, this::parseRemove);
+      case IN_LIST -> handlePartitioned(ids, Integer::intValue, slice ->
+        handleChunkedAction(slice, Math.min(batchSize, maxStatementParameters),
+          count -> getRemoveEntriesStatement().formatted(String.join(",", Collections.nCopies(count, "?"))),
+          (chunk, preparedStatement) -> {
+            for (int i = 0; i < chunk.length; i++)
+              preparedStatement.setInt(i + 1, chunk[i]);
+          }));
+      case ARRAY_BOUND -> handlePartitioned(ids, Integer::intValue, slice ->
+        handleChunkedAction(slice, batchSize, _ -> getArrayRemoveStatement(), this::parseArrayRemove));
+    }
   }
 
   @Override
@@ -106,16 +300,63 @@ abstract class AbstractSQLDatabase extends SQLStatementHandler implements Databa
       ResultSet::next).orElse(false);
   }
 
+  @Override
+  public boolean[] existsAll(int... ids) {
+    Set<Integer> found = new HashSet<>();
+    handleChunkedQuery(getEntriesExistStatement(), ids, resultSet -> {
+      while (resultSet.next())
+        found.add(resultSet.getInt(1));
+    });
+    return Database.present(ids, found);
+  }
+
   @Override
   public Map<Integer, Entry> select() {
-    return handleQuery(getSelectEntriesStatement(), resultSet -> {
-      Map<Integer, Entry> entries = new HashMap<>();
+    return handleQuery(getSelectEntriesStatement(), this::deserializeEntries).orElseGet(HashMap::new);
+  }
+
+  @Override
+  public Map<Integer, Entry> select(int fromId, int toId) {
+    return handleQuery(getSelectEntryRangeStatement(),
+      preparedStatement -> parseRange(fromId, toId, preparedStatement),
+      this::deserializeEntries).orElseGet(HashMap::new);
+  }
+
+  @Override
+  public Map<Integer, Entry> selectByIds(int... ids) {
+    Map<Integer, Entry> entries = new HashMap<>();
+    handleChunkedQuery(getSelectEntriesByIdsStatement(), ids, resultSet -> entries.putAll(deserializeEntries(resultSet)));
+    return entries;
+  }
+
+  @Override
+  public void stream(int fetchSize, @NotNull Consumer<Entry[]> consumer) {
+    EntryBuffer buffer = new EntryBuffer(fetchSize, consumer);
+    handleQuery(getSelectEntriesStatement(), preparedStatement -> preparedStatement.setFetchSize(fetchSize), resultSet -> {
       while (resultSet.next()) {
         int id = resultSet.getInt("id");
-        entries.put(id, deserializeEntry(id, resultSet));
+        buffer.add(deserializeEntry(id, resultSet));
       }
-      return entries;
-    }).orElseGet(HashMap::new);
+      buffer.flush();
+      return null;
+    });
+  }
+
+  @Override
+  public Digest digest() {
+    return handleQuery(getDigestStatement(), resultSet -> {
+      resultSet.next();
+      return new Digest(resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3));
+    }).orElse(Digest.EMPTY);
+  }
+
+  private Map<Integer, Entry> deserializeEntries(ResultSet resultSet) throws SQLException {
+    Map<Integer, Entry> entries = new HashMap<>();
+    while (resultSet.next()) {
+      int id = resultSet.getInt("id");
+      entries.put(id, deserializeEntry(id, resultSet));
+    }
+    return entries;
   }
 
   protected void handle(String statement) {
@@ -133,16 +374,85 @@ abstract class AbstractSQLDatabase extends SQLStatementHandler implements Databa
   }
 
   protected <W> void handleBatchAction(String statement, W[] writables, SQLBatchAction<W> parser) {
-    handle(statement, preparedStatement -> {
-      int count = 0;
-      for (W writable : writables) {
-        parser.accept(writable, preparedStatement);
-        preparedStatement.addBatch();
-        if (++count % MAX_BATCH_SIZE == 0)
-          preparedStatement.executeBatch();
+    handle(statement, preparedStatement -> executeBatches(preparedStatement, writables, parser));
+  }
+
+  private <W> void executeBatches(PreparedStatement preparedStatement, W[] writables, SQLBatchAction<W> parser) throws SQLException {
+    int count = 0;
+    for (W writable : writables) {
+      parser.accept(writable, preparedStatement);
+      preparedStatement.addBatch();
+      if (++count % batchSize == 0)
+        preparedStatement.executeBatch();
+    }
+    preparedStatement.executeBatch();
+  }
+
+  protected <W> void handleBatchAction(String statement, W[] writables, ToIntFunction<W> id, SQLBatchAction<W> parser) {
+    handlePartitioned(writables, id, slice -> handleBatchAction(statement, slice, parser));
+  }
+
+  // Runs each chunk as one statement sized to it, over a single connection that commits once at the end
+  protected <W> void handleChunkedAction(W[] writables, int chunkSize, IntFunction<String> statement, SQLChunkAction<W> parser) {
+    try (Connection connection = dataSource.getConnection()) {
+      for (int from = 0; from < writables.length; from += chunkSize) {
+        W[] chunk = Arrays.copyOfRange(writables, from, Math.min(from + chunkSize, writables.length));
+        try (PreparedStatement preparedStatement = connection.prepareStatement(statement.apply(chunk.length))) {
+          parser.accept(chunk, preparedStatement);
+          preparedStatement.executeUpdate();
+        }
+      }
+      connection.commit();
+    } catch (SQLException exception) {
+      ExceptionManager.handleException(this, exception);
+    }
+  }
+
+  // Splits the batch into id ranges written over separate pooled connections, each committing on its own
+  protected <W> void handlePartitioned(W[] writables, ToIntFunction<W> id, Consumer<W[]> writer) {
+    int partitions = Math.min(writeParallelism, writables.length / MIN_PARTITION_SIZE);
+    if (partitions <= 1) {
+      writer.accept(writables);
+      return;
+    }
+
+    W[] sorted = writables.clone();
+    Arrays.sort(sorted, Comparator.comparingInt(id));
+    List<Future<?>> futures = new ArrayList<>(partitions);
+    for (int partition = 0; partition < partitions; partition++) {
+      W[] slice = Arrays.copyOfRange(sorted, sorted.length * partition / partitions, sorted.length * (partition + 1) / partitions);
+      futures.add(writeExecutor.submit(() -> writer.accept(slice)));
+    }
+    for (Future<?> future : futures)
+      try {
+        future.get();
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        ExceptionManager.handleException(this, exception);
+      } catch (ExecutionException exception) {
+        ExceptionManager.handleException(this, exception.getCause() instanceof Exception cause ? cause : exception);
       }
-      preparedStatement.executeBatch();
-    });
+  }
+
+  // Expands the statement's IN list per chunk of ids, keeping each chunk within the dialect's parameter limit
+  protected void handleChunkedQuery(String statement, int[] ids, SQLResultAction action) {
+    int chunkSize = Math.min(batchSize, maxStatementParameters);
+    try (Connection connection = dataSource.getConnection()) {
+      for (int from = 0; from < ids.length; from += chunkSize) {
+        int to = Math.min(from + chunkSize, ids.length);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(statement.formatted(String.join(",", Collections.nCopies(to - from, "?"))))) {
+          if (fetchSize > 0)
+            preparedStatement.setFetchSize(fetchSize);
+          for (int i = from; i < to; i++)
+            preparedStatement.setInt(i - from + 1, ids[i]);
+          try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            action.accept(resultSet);
+          }
+        }
+      }
+    } catch (SQLException exception) {
+      ExceptionManager.handleException(this, exception);
+    }
   }
 
   protected <R> Optional<R> handleQuery(String statement, SQLQuery<R> query) {
@@ -152,6 +462,8 @@ abstract class AbstractSQLDatabase extends SQLStatementHandler implements Databa
   protected <R> Optional<R> handleQuery(String statement, SQLAction action, SQLQuery<R> query) {
     try (Connection connection = dataSource.getConnection();
          PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
+      if (fetchSize > 0)
+        preparedStatement.setFetchSize(fetchSize);
       action.accept(preparedStatement);
       try (ResultSet resultSet = preparedStatement.executeQuery()) {
         return Optional.ofNullable(query.apply(resultSet));
@@ -174,6 +486,18 @@ abstract class AbstractSQLDatabase extends SQLStatementHandler implements Databa
 
   }
 
+  protected interface SQLChunkAction<W> {
+
+    void accept(W[] chunk, PreparedStatement preparedStatement) throws SQLException;
+
+  }
+
+  protected interface SQLResultAction {
+
+    void accept(ResultSet resultSet) throws SQLException;
+
+  }
+
   protected interface SQLQuery<R> {
 
     R apply(ResultSet resultSet) throws SQLException;
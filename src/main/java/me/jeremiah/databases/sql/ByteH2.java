@@ -1,6 +1,7 @@
 package me.jeremiah.databases.sql;
 
 import me.jeremiah.Entry;
+import me.jeremiah.databases.Digest;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -9,23 +10,37 @@ import java.sql.SQLException;
 public class ByteH2 extends H2 {
 
   public ByteH2() {
-    super();
+    this(Profile.DEFAULT);
+  }
+
+  public ByteH2(Profile profile) {
+    super(profile, "byte-h2");
 
     setCreateTableStatement("CREATE TABLE entries(id INT PRIMARY KEY, data BLOB)");
     setInsertEntryStatement("INSERT INTO entries (id, data) VALUES (?,?)");
     setUpdateEntryStatement("UPDATE entries SET data = ? WHERE id = ?");
+    setUpsertEntryStatement("MERGE INTO entries (id, data) KEY (id) VALUES (?,?)");
     setSelectEntriesStatement("SELECT * FROM entries");
+    setDigestStatement(DigestStatements.bytes(DigestStatements.Dialect.H2));
+    setArrayInsertStatement("INSERT INTO entries (id, data) SELECT * FROM UNNEST(?, ?)");
+    setDigestMode(Digest.Mode.BYTES);
+    setMergeStagingStatement("MERGE INTO entries e USING (SELECT * FROM entries_staging WHERE batch_id = ?) s ON (e.id = s.id) WHEN MATCHED THEN UPDATE SET data = s.data");
   }
 
   @Override
-  public String getName() {
+  public String getBaseName() {
     return "Byte-H2";
   }
 
   @Override
-  protected void parseInsert(Entry entry, PreparedStatement preparedStatement) throws SQLException {
-    preparedStatement.setInt(1, entry.getId());
-    preparedStatement.setBytes(2, entry.bytes());
+  protected void parseInsert(Entry entry, PreparedStatement preparedStatement, int offset) throws SQLException {
+    preparedStatement.setInt(offset + 1, entry.getId());
+    preparedStatement.setBytes(offset + 2, entry.bytes());
+  }
+
+  @Override
+  protected void parseArrayInsert(Entry[] entries, PreparedStatement preparedStatement) throws SQLException {
+    bindByteArrays(entries, preparedStatement, "INTEGER", "BINARY VARYING");
   }
 
   @Override
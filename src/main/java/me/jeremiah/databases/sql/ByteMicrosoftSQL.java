@@ -1,6 +1,7 @@
 package me.jeremiah.databases.sql;
 
 import me.jeremiah.Entry;
+import me.jeremiah.databases.Digest;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -14,18 +15,22 @@ public class ByteMicrosoftSQL extends MicrosoftSQL {
     setCreateTableStatement("CREATE TABLE entries(id INT PRIMARY KEY, data BINARY(64))");
     setInsertEntryStatement("INSERT INTO entries (id, data) VALUES (?,?)");
     setUpdateEntryStatement("UPDATE entries SET data = ? WHERE id = ?");
+    setUpsertEntryStatement("MERGE INTO entries WITH (HOLDLOCK) AS e USING (VALUES (?,?)) AS s (id, data) ON e.id = s.id WHEN MATCHED THEN UPDATE SET data = s.data WHEN NOT MATCHED THEN INSERT (id, data) VALUES (s.id, s.data);");
     setSelectEntriesStatement("SELECT * FROM entries");
+    setDigestStatement(DigestStatements.bytes(DigestStatements.Dialect.MICROSOFT_SQL));
+    setDigestMode(Digest.Mode.BYTES);
+    setMergeStagingStatement("UPDATE e SET e.data = s.data FROM entries e JOIN entries_staging s ON e.id = s.id WHERE s.batch_id = ?");
   }
 
   @Override
-  public String getName() {
+  public String getBaseName() {
     return "Byte-MicrosoftSQL";
   }
 
   @Override
-  protected void parseInsert(Entry entry, PreparedStatement preparedStatement) throws SQLException {
-    preparedStatement.setInt(1, entry.getId());
-    preparedStatement.setBytes(2, entry.bytes());
+  protected void parseInsert(Entry entry, PreparedStatement preparedStatement, int offset) throws SQLException {
+    preparedStatement.setInt(offset + 1, entry.getId());
+    preparedStatement.setBytes(offset + 2, entry.bytes());
   }
 
   @Override
@@ -1,6 +1,7 @@
 package me.jeremiah.databases.sql;
 
 import me.jeremiah.Entry;
+import me.jeremiah.databases.Digest;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -14,18 +15,22 @@ public class ByteMySQL extends MySQL {
     setCreateTableStatement("CREATE TABLE entries(id INT PRIMARY KEY, data BLOB)");
     setInsertEntryStatement("INSERT INTO entries (id, data) VALUES (?,?)");
     setUpdateEntryStatement("UPDATE entries SET data = ? WHERE id = ?");
+    setUpsertEntryStatement("INSERT INTO entries (id, data) VALUES (?,?) ON DUPLICATE KEY UPDATE data = VALUES(data)");
     setSelectEntriesStatement("SELECT * FROM entries");
+    setDigestStatement(DigestStatements.bytes(DigestStatements.Dialect.MYSQL));
+    setDigestMode(Digest.Mode.BYTES);
+    setMergeStagingStatement("UPDATE entries e JOIN entries_staging s ON e.id = s.id SET e.data = s.data WHERE s.batch_id = ?");
   }
 
   @Override
-  public String getName() {
+  public String getBaseName() {
     return "Byte-MySQL";
   }
 
   @Override
-  protected void parseInsert(Entry entry, PreparedStatement preparedStatement) throws SQLException {
-    preparedStatement.setInt(1, entry.getId());
-    preparedStatement.setBytes(2, entry.bytes());
+  protected void parseInsert(Entry entry, PreparedStatement preparedStatement, int offset) throws SQLException {
+    preparedStatement.setInt(offset + 1, entry.getId());
+    preparedStatement.setBytes(offset + 2, entry.bytes());
   }
 
   @Override
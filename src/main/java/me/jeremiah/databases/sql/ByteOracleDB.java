@@ -1,6 +1,7 @@
 package me.jeremiah.databases.sql;
 
 import me.jeremiah.Entry;
+import me.jeremiah.databases.Digest;
 import me.jeremiah.ExceptionManager;
 
 import java.sql.PreparedStatement;
@@ -15,18 +16,22 @@ public class ByteOracleDB extends OracleDB {
     setCreateTableStatement("CREATE TABLE entries(id INT PRIMARY KEY, data BLOB)");
     setInsertEntryStatement("INSERT INTO entries (id, data) VALUES (?,?)");
     setUpdateEntryStatement("UPDATE entries SET data = ? WHERE id = ?");
+    setUpsertEntryStatement("MERGE INTO entries e USING (SELECT ? AS id, ? AS data FROM dual) s ON (e.id = s.id) WHEN MATCHED THEN UPDATE SET e.data = s.data WHEN NOT MATCHED THEN INSERT (id, data) VALUES (s.id, s.data)");
     setSelectEntriesStatement("SELECT * FROM entries");
+    setDigestStatement(DigestStatements.bytes(DigestStatements.Dialect.ORACLE));
+    setDigestMode(Digest.Mode.BYTES);
+    setMergeStagingStatement("MERGE INTO entries e USING (SELECT * FROM entries_staging WHERE batch_id = ?) s ON (e.id = s.id) WHEN MATCHED THEN UPDATE SET data = s.data");
   }
 
   @Override
-  public String getName() {
+  public String getBaseName() {
     return "Byte-OracleDB";
   }
 
   @Override
-  protected void parseInsert(Entry entry, PreparedStatement preparedStatement) throws SQLException {
-    preparedStatement.setInt(1, entry.getId());
-    preparedStatement.setBytes(2, entry.bytes());
+  protected void parseInsert(Entry entry, PreparedStatement preparedStatement, int offset) throws SQLException {
+    preparedStatement.setInt(offset + 1, entry.getId());
+    preparedStatement.setBytes(offset + 2, entry.bytes());
   }
 
   @Override
@@ -1,6 +1,7 @@
 package me.jeremiah.databases.sql;
 
 import me.jeremiah.Entry;
+import me.jeremiah.databases.Digest;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -14,18 +15,28 @@ public class BytePostgreSQL extends PostgreSQL {
     setCreateTableStatement("CREATE TABLE entries (id INT PRIMARY KEY, data BYTEA)");
     setInsertEntryStatement("INSERT INTO entries (id, data) VALUES (?,?)");
     setUpdateEntryStatement("UPDATE entries SET data = ? WHERE id = ?");
+    setUpsertEntryStatement("INSERT INTO entries (id, data) VALUES (?,?) ON CONFLICT (id) DO UPDATE SET data = excluded.data");
     setSelectEntriesStatement("SELECT * FROM entries");
+    setDigestStatement(DigestStatements.bytes(DigestStatements.Dialect.POSTGRESQL));
+    setArrayInsertStatement("INSERT INTO entries (id, data) SELECT * FROM UNNEST(?, ?)");
+    setDigestMode(Digest.Mode.BYTES);
+    setMergeStagingStatement("UPDATE entries e SET data = s.data FROM entries_staging s WHERE s.batch_id = ? AND e.id = s.id");
   }
 
   @Override
-  public String getName() {
+  public String getBaseName() {
     return "Byte-PostgreSQL";
   }
 
   @Override
-  protected void parseInsert(Entry entry, PreparedStatement preparedStatement) throws SQLException {
-    preparedStatement.setInt(1, entry.getId());
-    preparedStatement.setBytes(2, entry.bytes());
+  protected void parseInsert(Entry entry, PreparedStatement preparedStatement, int offset) throws SQLException {
+    preparedStatement.setInt(offset + 1, entry.getId());
+    preparedStatement.setBytes(offset + 2, entry.bytes());
+  }
+
+  @Override
+  protected void parseArrayInsert(Entry[] entries, PreparedStatement preparedStatement) throws SQLException {
+    bindByteArrays(entries, preparedStatement, "int4", "bytea");
   }
 
   @Override
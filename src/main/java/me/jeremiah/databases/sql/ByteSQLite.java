@@ -1,31 +1,56 @@
 package me.jeremiah.databases.sql;
 
+import com.google.gson.JsonArray;
 import me.jeremiah.Entry;
+import me.jeremiah.databases.Digest;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HexFormat;
 
 public class ByteSQLite extends SQLite {
 
   public ByteSQLite() {
-    super();
+    this(Profile.DEFAULT);
+  }
+
+  public ByteSQLite(Profile profile) {
+    super(profile);
 
     setCreateTableStatement("CREATE TABLE entries(id INT PRIMARY KEY, data BLOB)");
     setInsertEntryStatement("INSERT INTO entries (id, data) VALUES (?,?)");
     setUpdateEntryStatement("UPDATE entries SET data = ? WHERE id = ?");
+    setUpsertEntryStatement("INSERT INTO entries (id, data) VALUES (?,?) ON CONFLICT (id) DO UPDATE SET data = excluded.data");
     setSelectEntriesStatement("SELECT * FROM entries");
+    setDigestStatement(DigestStatements.bytes(DigestStatements.Dialect.SQLITE));
+    setArrayInsertStatement("INSERT INTO entries (id, data) SELECT value ->> 0, unhex(value ->> 1) FROM json_each(?)");
+    setDigestMode(Digest.Mode.BYTES);
+    setMergeStagingStatement("UPDATE entries SET data = s.data FROM entries_staging s WHERE s.batch_id = ? AND entries.id = s.id");
   }
 
   @Override
-  public String getName() {
+  public String getBaseName() {
     return "Byte-SQLite";
   }
 
   @Override
-  protected void parseInsert(Entry entry, PreparedStatement preparedStatement) throws SQLException {
-    preparedStatement.setInt(1, entry.getId());
-    preparedStatement.setBytes(2, entry.bytes());
+  protected void parseInsert(Entry entry, PreparedStatement preparedStatement, int offset) throws SQLException {
+    preparedStatement.setInt(offset + 1, entry.getId());
+    preparedStatement.setBytes(offset + 2, entry.bytes());
+  }
+
+  @Override
+  protected void parseArrayInsert(Entry[] entries, PreparedStatement preparedStatement) throws SQLException {
+    JsonArray rows = new JsonArray(entries.length);
+    HexFormat hex = HexFormat.of();
+    for (Entry entry : entries) {
+      JsonArray row = new JsonArray(2);
+      row.add(entry.getId());
+      row.add(hex.formatHex(entry.bytes()));
+      rows.add(row);
+    }
+    preparedStatement.setString(1, rows.toString());
   }
 
   @Override
@@ -0,0 +1,147 @@
+package me.jeremiah.databases.sql;
+
+import me.jeremiah.databases.Digest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Spells out Digest's row hash as one SQL term per position, so a dialect only has to say how it casts to a 64-bit
+// integer, takes a modulus and reads a single character or byte; every operand is reduced before it is multiplied
+final class DigestStatements {
+
+  private static final String HEX_DIGITS = "'0123456789ABCDEF'";
+
+  private DigestStatements() {
+  }
+
+  static String fields(Dialect dialect) {
+    List<String> terms = new ArrayList<>();
+    for (int position = 1; position <= Digest.NAME_LENGTH; position++) {
+      terms.add(term(dialect, dialect.charCode("first_name", position), Digest.FIRST_NAME_OFFSET + position));
+      terms.add(term(dialect, dialect.charCode("last_name", position), Digest.LAST_NAME_OFFSET + position));
+    }
+    terms.add(term(dialect, dialect.charCode("middle_initial", 1), Digest.INITIAL_POSITION));
+    terms.add(term(dialect, "age", Digest.AGE_POSITION));
+    terms.add(term(dialect, dialect.mod(dialect.integer("FLOOR(net_worth * " + Digest.NET_WORTH_SCALE + ")")), Digest.NET_WORTH_POSITION));
+    return select(dialect, terms, "entries");
+  }
+
+  static String bytes(Dialect dialect) {
+    List<String> terms = new ArrayList<>();
+    for (int position = 1; position <= Digest.MAX_BYTES; position++)
+      terms.add(term(dialect, dialect.byteAt("data", position), position));
+    return select(dialect, terms, dialect.byteSource());
+  }
+
+  private static String term(Dialect dialect, String value, int position) {
+    return dialect.mod(dialect.integer("COALESCE(" + value + ", 0)") + " * " + Digest.weight(position));
+  }
+
+  private static String select(Dialect dialect, List<String> terms, String source) {
+    String id = dialect.integer("id");
+    String content = "(" + String.join(" + ", terms) + ")";
+    String rowHash = dialect.mod(dialect.mod(content + " + " + id) + " * " + dialect.mod("2 * " + id + " + 1"));
+    return "SELECT COUNT(*), " + dialect.mod("COALESCE(SUM(" + id + "), 0)") + ", " + dialect.mod("COALESCE(SUM(" + rowHash + "), 0)") + " FROM " + source;
+  }
+
+  enum Dialect {
+
+    STANDARD,
+    H2 {
+      // Binary casts to INT need exactly four bytes, so the padded blob is read one byte at a time behind three zeros
+      @Override
+      String byteAt(String column, int position) {
+        return "CAST(X'000000' || SUBSTRING(" + column + ", " + position + ", 1) AS INT)";
+      }
+
+      @Override
+      String byteSource() {
+        return "(SELECT id, CAST(data AS VARBINARY) || X'" + "00".repeat(Digest.MAX_BYTES) + "' AS data FROM entries) padded";
+      }
+    },
+    POSTGRESQL {
+      @Override
+      String byteAt(String column, int position) {
+        return "get_byte(" + column + ", " + (position - 1) + ")";
+      }
+
+      @Override
+      String byteSource() {
+        return "(SELECT id, data || decode(repeat('00', " + Digest.MAX_BYTES + "), 'hex') AS data FROM entries) padded";
+      }
+    },
+    SQLITE {
+      @Override
+      String charCode(String column, int position) {
+        return "UNICODE(SUBSTR(" + column + ", " + position + ", 1))";
+      }
+
+      // SQLite reads blob bytes as text, so each byte is decoded from its two hex digits
+      @Override
+      String byteAt(String column, int position) {
+        return "((INSTR(" + HEX_DIGITS + ", SUBSTR(" + column + ", " + (2 * position - 1) + ", 1)) - 1) * 16 + INSTR(" + HEX_DIGITS + ", SUBSTR(" + column + ", " + 2 * position + ", 1)) - 1)";
+      }
+
+      @Override
+      String byteSource() {
+        return "(SELECT id, HEX(data) AS data FROM entries)";
+      }
+    },
+    MYSQL {
+      @Override
+      String integer(String expression) {
+        return "CAST(" + expression + " AS SIGNED)";
+      }
+    },
+    MICROSOFT_SQL {
+      @Override
+      String mod(String expression) {
+        return "(" + expression + ") % " + Digest.MODULUS;
+      }
+
+      @Override
+      String byteAt(String column, int position) {
+        return "CAST(SUBSTRING(" + column + ", " + position + ", 1) AS INT)";
+      }
+    },
+    ORACLE {
+      @Override
+      String integer(String expression) {
+        return "CAST(" + expression + " AS NUMBER(19))";
+      }
+
+      @Override
+      String charCode(String column, int position) {
+        return "ASCII(SUBSTR(" + column + ", " + position + ", 1))";
+      }
+
+      @Override
+      String byteAt(String column, int position) {
+        return "TO_NUMBER(RAWTOHEX(DBMS_LOB.SUBSTR(" + column + ", 1, " + position + ")), 'XX')";
+      }
+    };
+
+    String integer(String expression) {
+      return "CAST(" + expression + " AS BIGINT)";
+    }
+
+    String mod(String expression) {
+      return "MOD(" + expression + ", " + Digest.MODULUS + ")";
+    }
+
+    String charCode(String column, int position) {
+      return "ASCII(SUBSTRING(" + column + ", " + position + ", 1))";
+    }
+
+    // Reads the unsigned byte at a 1-based position, or null or 0 past the end of the value
+    String byteAt(String column, int position) {
+      return "ASCII(SUBSTRING(" + column + ", " + position + ", 1))";
+    }
+
+    String byteSource() {
+      return "entries";
+    }
+
+  }
+
+}
@@ -1,9 +1,94 @@
 package me.jeremiah.databases.sql;
 
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import me.jeremiah.Entry;
+import me.jeremiah.ExceptionManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
 public class H2 extends AbstractSQLDatabase {
 
+  @Getter
+  private final Profile profile;
+  private final String url;
+
   public H2() {
-    super(org.h2.Driver.class, "jdbc:h2:file:./.databases/h2");
+    this(Profile.DEFAULT);
+  }
+
+  public H2(Profile profile) {
+    this(profile, "h2");
+  }
+
+  protected H2(Profile profile, String database) {
+    super(org.h2.Driver.class, profile.getUrl(database));
+    this.profile = profile;
+    this.url = profile.getUrl(database);
+    setWriteParallelism(4);
+
+    setArrayInsertStatement("INSERT INTO entries (id, first_name, middle_initial, last_name, age, net_worth) SELECT * FROM UNNEST(?, ?, ?, ?, ?, ?)");
+    setArrayRemoveStatement("DELETE FROM entries WHERE id = ANY(?)");
+    setUpsertEntryStatement("MERGE INTO entries (id, first_name, middle_initial, last_name, age, net_worth) KEY (id) VALUES (?,?,?,?,?,?)");
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    if (profile != Profile.IN_MEMORY)
+      return;
+    // DB_CLOSE_DELAY=-1 outlives the pool, so the memory database has to be dropped explicitly
+    try (Connection connection = DriverManager.getConnection(url);
+         Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    } catch (SQLException exception) {
+      ExceptionManager.handleException(this, exception);
+    }
+  }
+
+  @Override
+  protected List<String> getNameParts() {
+    List<String> parts = super.getNameParts();
+    if (profile != Profile.DEFAULT)
+      parts.add(profile.getName());
+    return parts;
+  }
+
+  @Override
+  protected void parseArrayRemove(Integer[] ids, PreparedStatement preparedStatement) throws SQLException {
+    preparedStatement.setArray(1, preparedStatement.getConnection().createArrayOf("INTEGER", ids));
+  }
+
+  @Override
+  protected void parseArrayInsert(Entry[] entries, PreparedStatement preparedStatement) throws SQLException {
+    bindColumnArrays(entries, preparedStatement, "INTEGER", "VARCHAR", "CHAR", "VARCHAR", "SMALLINT", "DOUBLE PRECISION");
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public enum Profile {
+    DEFAULT("Default", "jdbc:h2:file:./.databases/%s"),
+    // Kept alive between pooled connections, so the run measures SQL execution without any storage I/O
+    IN_MEMORY("InMemory", "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1"),
+    // 256 MiB MVStore cache, with commits flushed to disk at most every two seconds
+    TUNED("Tuned", "jdbc:h2:file:./.databases/%s-tuned;CACHE_SIZE=262144;WRITE_DELAY=2000"),
+    COMPRESSED("Compressed", "jdbc:h2:file:./.databases/%s-compressed;COMPRESS=TRUE");
+
+    private final String name;
+    @Getter(AccessLevel.NONE)
+    private final String url;
+
+    // Each adapter names its own database so the row and byte layouts never share tables
+    public String getUrl(String database) {
+      return url.formatted(database);
+    }
+
   }
 
 }
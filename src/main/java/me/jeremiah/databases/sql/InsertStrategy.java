@@ -0,0 +1,15 @@
+package me.jeremiah.databases.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum InsertStrategy {
+  BATCHED("Batched"),
+  MULTI_ROW("MultiRow"),
+  ARRAY_BOUND("ArrayBound");
+
+  private final String name;
+
+}
@@ -5,6 +5,12 @@ public class MariaDB extends AbstractSQLDatabase {
   public MariaDB() {
     super(org.mariadb.jdbc.Driver.class, "jdbc:mariadb://localhost:3307/data");
     getConfig().setUsername("root");
+    setWriteParallelism(4);
+
+    setDigestStatement(DigestStatements.fields(DigestStatements.Dialect.MYSQL));
+    setCreateStagingTableStatement("CREATE TABLE entries_staging AS SELECT CAST(0 AS SIGNED) AS batch_id, entries.* FROM entries WHERE 1 = 0");
+    setMergeStagingStatement("UPDATE entries e JOIN entries_staging s ON e.id = s.id SET e.first_name = s.first_name, e.middle_initial = s.middle_initial, e.last_name = s.last_name, e.age = s.age, e.net_worth = s.net_worth WHERE s.batch_id = ?");
+    setUpsertEntryStatement("INSERT INTO entries (id, first_name, middle_initial, last_name, age, net_worth) VALUES (?,?,?,?,?,?) ON DUPLICATE KEY UPDATE first_name = VALUES(first_name), middle_initial = VALUES(middle_initial), last_name = VALUES(last_name), age = VALUES(age), net_worth = VALUES(net_worth)");
   }
 
 }
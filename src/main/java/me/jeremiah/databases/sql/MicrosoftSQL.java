@@ -6,6 +6,13 @@ public class MicrosoftSQL extends AbstractSQLDatabase {
     super(com.microsoft.sqlserver.jdbc.SQLServerDriver.class, "jdbc:sqlserver://localhost:1433;databaseName=data;encrypt=false;trustServerCertificate=true");
     getConfig().setUsername("sa");
     getConfig().setPassword("yourStrong(!)Password");
+    setWriteParallelism(4);
+    setMaxStatementParameters(2_000);
+
+    setDigestStatement(DigestStatements.fields(DigestStatements.Dialect.MICROSOFT_SQL));
+    setCreateStagingTableStatement("SELECT CAST(0 AS BIGINT) AS batch_id, entries.* INTO entries_staging FROM entries WHERE 1 = 0");
+    setMergeStagingStatement("UPDATE e SET e.first_name = s.first_name, e.middle_initial = s.middle_initial, e.last_name = s.last_name, e.age = s.age, e.net_worth = s.net_worth FROM entries e JOIN entries_staging s ON e.id = s.id WHERE s.batch_id = ?");
+    setUpsertEntryStatement("MERGE INTO entries WITH (HOLDLOCK) AS e USING (VALUES (?,?,?,?,?,?)) AS s (id, first_name, middle_initial, last_name, age, net_worth) ON e.id = s.id WHEN MATCHED THEN UPDATE SET first_name = s.first_name, middle_initial = s.middle_initial, last_name = s.last_name, age = s.age, net_worth = s.net_worth WHEN NOT MATCHED THEN INSERT (id, first_name, middle_initial, last_name, age, net_worth) VALUES (s.id, s.first_name, s.middle_initial, s.last_name, s.age, s.net_worth);");
   }
 
 }
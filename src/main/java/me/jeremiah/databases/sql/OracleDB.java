@@ -13,18 +13,24 @@ public class OracleDB extends AbstractSQLDatabase {
     super(oracle.jdbc.OracleDriver.class, "jdbc:oracle:thin:@localhost:1521/FREEPDB1");
     getConfig().setUsername("system");
     getConfig().setPassword("root");
+    setWriteParallelism(4);
+    // IN lists past 1000 expressions fail with ORA-01795, whatever Batch_Size is tuned to
+    setMaxStatementParameters(1_000);
 
     setCreateTableStatement("CREATE TABLE entries(id INT PRIMARY KEY, first_name VARCHAR2(32), middle_initial CHAR(1), last_name VARCHAR2(32), age INT, net_worth BINARY_DOUBLE)");
+    setDigestStatement(DigestStatements.fields(DigestStatements.Dialect.ORACLE));
+    setCreateStagingTableStatement("CREATE TABLE entries_staging AS SELECT CAST(0 AS NUMBER(19)) AS batch_id, entries.* FROM entries WHERE 1 = 0");
+    setUpsertEntryStatement("MERGE INTO entries e USING (SELECT ? AS id, ? AS first_name, ? AS middle_initial, ? AS last_name, ? AS age, ? AS net_worth FROM dual) s ON (e.id = s.id) WHEN MATCHED THEN UPDATE SET e.first_name = s.first_name, e.middle_initial = s.middle_initial, e.last_name = s.last_name, e.age = s.age, e.net_worth = s.net_worth WHEN NOT MATCHED THEN INSERT (id, first_name, middle_initial, last_name, age, net_worth) VALUES (s.id, s.first_name, s.middle_initial, s.last_name, s.age, s.net_worth)");
   }
 
   @Override
-  protected void parseInsert(Entry entry, PreparedStatement preparedStatement) throws SQLException {
-    preparedStatement.setInt(1, entry.getId());
-    preparedStatement.setString(2, entry.getFirstName());
-    preparedStatement.setString(3, String.valueOf(entry.getMiddleInitial()));
-    preparedStatement.setString(4, entry.getLastName());
-    preparedStatement.setInt(5, entry.getAge());
-    preparedStatement.setBigDecimal(6, BigDecimal.valueOf(entry.getNetWorth()));
+  protected void parseInsert(Entry entry, PreparedStatement preparedStatement, int offset) throws SQLException {
+    preparedStatement.setInt(offset + 1, entry.getId());
+    preparedStatement.setString(offset + 2, entry.getFirstName());
+    preparedStatement.setString(offset + 3, String.valueOf(entry.getMiddleInitial()));
+    preparedStatement.setString(offset + 4, entry.getLastName());
+    preparedStatement.setInt(offset + 5, entry.getAge());
+    preparedStatement.setBigDecimal(offset + 6, BigDecimal.valueOf(entry.getNetWorth()));
   }
 
   @Override
@@ -1,10 +1,30 @@
 package me.jeremiah.databases.sql;
 
+import me.jeremiah.Entry;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
 public class PostgreSQL extends AbstractSQLDatabase {
 
   public PostgreSQL() {
     super(org.postgresql.Driver.class, "jdbc:postgresql://localhost:5432/data");
     getConfig().setUsername("postgres");
+    setWriteParallelism(4);
+
+    setArrayInsertStatement("INSERT INTO entries (id, first_name, middle_initial, last_name, age, net_worth) SELECT * FROM UNNEST(?, ?, ?, ?, ?, ?)");
+    setArrayRemoveStatement("DELETE FROM entries WHERE id = ANY(?)");
+    setMergeStagingStatement("UPDATE entries e SET first_name = s.first_name, middle_initial = s.middle_initial, last_name = s.last_name, age = s.age, net_worth = s.net_worth FROM entries_staging s WHERE s.batch_id = ? AND e.id = s.id");
+  }
+
+  @Override
+  protected void parseArrayRemove(Integer[] ids, PreparedStatement preparedStatement) throws SQLException {
+    preparedStatement.setArray(1, preparedStatement.getConnection().createArrayOf("int4", ids));
+  }
+
+  @Override
+  protected void parseArrayInsert(Entry[] entries, PreparedStatement preparedStatement) throws SQLException {
+    bindColumnArrays(entries, preparedStatement, "int4", "varchar", "bpchar", "varchar", "int2", "float8");
   }
 
 }
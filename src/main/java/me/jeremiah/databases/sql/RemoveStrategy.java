@@ -0,0 +1,15 @@
+package me.jeremiah.databases.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum RemoveStrategy {
+  BATCHED("Batched"),
+  IN_LIST("InListRemove"),
+  ARRAY_BOUND("ArrayRemove");
+
+  private final String name;
+
+}
@@ -3,10 +3,9 @@ package me.jeremiah.databases.sql;
 import lombok.Getter;
 import lombok.Setter;
 import me.jeremiah.Entry;
+import me.jeremiah.databases.Digest;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.sql.*;
 
 @Setter
 @Getter
@@ -19,18 +18,73 @@ class SQLStatementHandler {
 
   private String insertEntryStatement = "INSERT INTO entries (id, first_name, middle_initial, last_name, age, net_worth) VALUES (?,?,?,?,?,?)";
   private String updateEntryStatement = "UPDATE entries SET first_name = ?, middle_initial = ?, last_name = ?, age = ?, net_worth = ? WHERE id = ?";
+  private String upsertEntryStatement = "INSERT INTO entries (id, first_name, middle_initial, last_name, age, net_worth) VALUES (?,?,?,?,?,?) ON CONFLICT (id) DO UPDATE SET first_name = excluded.first_name, middle_initial = excluded.middle_initial, last_name = excluded.last_name, age = excluded.age, net_worth = excluded.net_worth";
   private String removeEntryStatement = "DELETE FROM entries WHERE id = ?";
+  private String removeEntriesStatement = "DELETE FROM entries WHERE id IN (%s)";
 
-  private String entryExistsStatement = "SELECT * FROM entries WHERE id = ?";
+  private String entryExistsStatement = "SELECT 1 FROM entries WHERE id = ?";
+  private String entriesExistStatement = "SELECT id FROM entries WHERE id IN (%s)";
   private String selectEntriesStatement = "SELECT * FROM entries";
+  private String selectEntryRangeStatement = "SELECT * FROM entries WHERE id >= ? AND id < ?";
+  private String selectEntriesByIdsStatement = "SELECT * FROM entries WHERE id IN (%s)";
+
+  private String arrayInsertStatement = null;
+  private String arrayRemoveStatement = null;
+
+  private String createStagingTableStatement = "CREATE TABLE entries_staging AS SELECT CAST(0 AS BIGINT) AS batch_id, entries.* FROM entries WHERE 1 = 0";
+  private String dropStagingTableStatement = "DROP TABLE entries_staging";
+  private String mergeStagingStatement = "MERGE INTO entries e USING (SELECT * FROM entries_staging WHERE batch_id = ?) s ON (e.id = s.id) WHEN MATCHED THEN UPDATE SET first_name = s.first_name, middle_initial = s.middle_initial, last_name = s.last_name, age = s.age, net_worth = s.net_worth";
+  private String clearStagingStatement = "DELETE FROM entries_staging WHERE batch_id = ?";
+
+  private String digestStatement = DigestStatements.fields(DigestStatements.Dialect.STANDARD);
+  private Digest.Mode digestMode = Digest.Mode.FIELDS;
 
   protected void parseInsert(Entry entry, PreparedStatement preparedStatement) throws SQLException {
-    preparedStatement.setInt(1, entry.getId());
-    preparedStatement.setString(2, entry.getFirstName());
-    preparedStatement.setString(3, String.valueOf(entry.getMiddleInitial()));
-    preparedStatement.setString(4, entry.getLastName());
-    preparedStatement.setInt(5, entry.getAge());
-    preparedStatement.setDouble(6, entry.getNetWorth());
+    parseInsert(entry, preparedStatement, 0);
+  }
+
+  protected void parseInsert(Entry entry, PreparedStatement preparedStatement, int offset) throws SQLException {
+    preparedStatement.setInt(offset + 1, entry.getId());
+    preparedStatement.setString(offset + 2, entry.getFirstName());
+    preparedStatement.setString(offset + 3, String.valueOf(entry.getMiddleInitial()));
+    preparedStatement.setString(offset + 4, entry.getLastName());
+    preparedStatement.setInt(offset + 5, entry.getAge());
+    preparedStatement.setDouble(offset + 6, entry.getNetWorth());
+  }
+
+  protected void parseArrayInsert(Entry[] entries, PreparedStatement preparedStatement) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Array-bound inserts are not supported");
+  }
+
+  protected void bindColumnArrays(Entry[] entries, PreparedStatement preparedStatement, String... types) throws SQLException {
+    Object[][] columns = {
+      new Integer[entries.length], new String[entries.length], new String[entries.length],
+      new String[entries.length], new Integer[entries.length], new Double[entries.length]
+    };
+    for (int i = 0; i < entries.length; i++) {
+      Entry entry = entries[i];
+      columns[0][i] = entry.getId();
+      columns[1][i] = entry.getFirstName();
+      columns[2][i] = String.valueOf(entry.getMiddleInitial());
+      columns[3][i] = entry.getLastName();
+      columns[4][i] = entry.getAge();
+      columns[5][i] = entry.getNetWorth();
+    }
+    Connection connection = preparedStatement.getConnection();
+    for (int column = 0; column < columns.length; column++)
+      preparedStatement.setArray(column + 1, connection.createArrayOf(types[column], columns[column]));
+  }
+
+  protected void bindByteArrays(Entry[] entries, PreparedStatement preparedStatement, String idType, String dataType) throws SQLException {
+    Integer[] ids = new Integer[entries.length];
+    byte[][] data = new byte[entries.length][];
+    for (int i = 0; i < entries.length; i++) {
+      ids[i] = entries[i].getId();
+      data[i] = entries[i].bytes();
+    }
+    Connection connection = preparedStatement.getConnection();
+    preparedStatement.setArray(1, connection.createArrayOf(idType, ids));
+    preparedStatement.setArray(2, connection.createArrayOf(dataType, data));
   }
 
   protected void parseUpdate(Entry entry, PreparedStatement preparedStatement) throws SQLException {
@@ -46,10 +100,19 @@ class SQLStatementHandler {
     preparedStatement.setInt(1, id);
   }
 
+  protected void parseArrayRemove(Integer[] ids, PreparedStatement preparedStatement) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Array-bound removes are not supported");
+  }
+
   protected void parseExists(int id, PreparedStatement preparedStatement) throws SQLException {
     preparedStatement.setInt(1, id);
   }
 
+  protected void parseRange(int fromId, int toId, PreparedStatement preparedStatement) throws SQLException {
+    preparedStatement.setInt(1, fromId);
+    preparedStatement.setInt(2, toId);
+  }
+
   protected Entry deserializeEntry(int id, ResultSet resultSet) throws SQLException {
     return new Entry(id,
       resultSet.getString("first_name"),
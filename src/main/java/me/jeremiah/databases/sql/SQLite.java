@@ -1,9 +1,125 @@
 package me.jeremiah.databases.sql;
 
+import com.google.gson.JsonArray;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import me.jeremiah.Entry;
+import me.jeremiah.databases.Knob;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 public class SQLite extends AbstractSQLDatabase {
 
+  @Getter
+  private final Profile profile;
+
   public SQLite() {
-    super(org.sqlite.JDBC.class, "jdbc:sqlite:file:./.databases/sqlite");
+    this(Profile.DEFAULT);
+  }
+
+  public SQLite(Profile profile) {
+    super(org.sqlite.JDBC.class, profile.getUrl());
+    this.profile = profile;
+    // sqlite-jdbc applies these as pragmas on every connection the pool opens
+    profile.getPragmas().forEach(getConfig()::addDataSourceProperty);
+    if (profile.getPoolSize() > 0) {
+      getConfig().setMaximumPoolSize(profile.getPoolSize());
+      getConfig().setMinimumIdle(profile.getPoolSize());
+      // A pinned connection must never be retired, or the in-memory database dies with it
+      getConfig().setMaxLifetime(0);
+      getConfig().setIdleTimeout(0);
+    }
+
+    setDigestStatement(DigestStatements.fields(DigestStatements.Dialect.SQLITE));
+    // SQLite has no array binds, so the batch travels as one JSON array of rows
+    setArrayInsertStatement("INSERT INTO entries (id, first_name, middle_initial, last_name, age, net_worth) SELECT value ->> 0, value ->> 1, value ->> 2, value ->> 3, value ->> 4, value ->> 5 FROM json_each(?)");
+    setArrayRemoveStatement("DELETE FROM entries WHERE id IN (SELECT value FROM json_each(?))");
+    setMergeStagingStatement("UPDATE entries SET first_name = s.first_name, middle_initial = s.middle_initial, last_name = s.last_name, age = s.age, net_worth = s.net_worth FROM entries_staging s WHERE s.batch_id = ? AND entries.id = s.id");
+  }
+
+  @Override
+  public List<Knob> getKnobs() {
+    if (profile.getPoolSize() == 0)
+      return super.getKnobs();
+    return super.getKnobs().stream().filter(knob -> !knob.name().equals("Pool_Size")).toList();
+  }
+
+  @Override
+  protected List<String> getNameParts() {
+    List<String> parts = super.getNameParts();
+    if (profile != Profile.DEFAULT)
+      parts.add(profile.getName());
+    return parts;
+  }
+
+  @Override
+  protected void parseArrayRemove(Integer[] ids, PreparedStatement preparedStatement) throws SQLException {
+    preparedStatement.setString(1, Arrays.toString(ids));
+  }
+
+  @Override
+  protected void parseArrayInsert(Entry[] entries, PreparedStatement preparedStatement) throws SQLException {
+    JsonArray rows = new JsonArray(entries.length);
+    for (Entry entry : entries) {
+      JsonArray row = new JsonArray(6);
+      row.add(entry.getId());
+      row.add(entry.getFirstName());
+      row.add(String.valueOf(entry.getMiddleInitial()));
+      row.add(entry.getLastName());
+      row.add(entry.getAge());
+      row.add(entry.getNetWorth());
+      rows.add(row);
+    }
+    preparedStatement.setString(1, rows.toString());
+  }
+
+  // Each profile gets its own file because page_size only takes effect when a database file is created
+  @Getter
+  @AllArgsConstructor
+  public enum Profile {
+    DEFAULT("Default", "jdbc:sqlite:file:./.databases/sqlite", 0, Map.of()),
+    DURABLE("Durable", "jdbc:sqlite:file:./.databases/sqlite-durable", 0, Map.of(
+      "journal_mode", "WAL",
+      "synchronous", "FULL",
+      "cache_size", "-65536",
+      "temp_store", "MEMORY")),
+    WAL_NORMAL("WalNormal", "jdbc:sqlite:file:./.databases/sqlite-wal-normal", 0, Map.of(
+      "journal_mode", "WAL",
+      "synchronous", "NORMAL",
+      "cache_size", "-65536",
+      "temp_store", "MEMORY")),
+    WAL_MMAP("WalMmap", "jdbc:sqlite:file:./.databases/sqlite-wal-mmap", 0, Map.of(
+      "journal_mode", "WAL",
+      "synchronous", "NORMAL",
+      "cache_size", "-65536",
+      "mmap_size", "1073741824",
+      "page_size", "8192",
+      "temp_store", "MEMORY")),
+    // A shared-cache memory database lives only while a connection holds it, and shared-cache table locks
+    // bypass busy_timeout, so the pool is pinned to one long-lived connection
+    IN_MEMORY("InMemory", "jdbc:sqlite:file:sqlite-memory?mode=memory&cache=shared", 1, Map.of(
+      "journal_mode", "MEMORY",
+      "synchronous", "OFF",
+      "cache_size", "-65536",
+      "temp_store", "MEMORY")),
+    // Exclusive locking keeps the file lock after the first write, so only one pooled connection can ever use it
+    EXCLUSIVE("Exclusive", "jdbc:sqlite:file:./.databases/sqlite-exclusive", 1, Map.of(
+      "journal_mode", "WAL",
+      "synchronous", "NORMAL",
+      "locking_mode", "EXCLUSIVE",
+      "cache_size", "-65536",
+      "mmap_size", "1073741824",
+      "temp_store", "MEMORY"));
+
+    private final String name;
+    private final String url;
+    private final int poolSize;
+    private final Map<String, String> pragmas;
+
   }
 
 }
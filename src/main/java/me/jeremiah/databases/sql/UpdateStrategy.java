@@ -0,0 +1,14 @@
+package me.jeremiah.databases.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum UpdateStrategy {
+  BATCHED("Batched"),
+  STAGED("StagedUpdate");
+
+  private final String name;
+
+}
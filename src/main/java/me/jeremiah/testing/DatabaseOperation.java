@@ -8,10 +8,14 @@ public enum DatabaseOperation {
   INITIALIZATION("Initialization", "Initializing Database", "Completed %s in %s"),
   INSERTION("Insertion"),
   VERIFICATION("Verification"),
+  DIGEST("Digest"),
   EXISTENCE("Existence"),
+  BATCHED_EXISTENCE("Batched_Existence"),
+  MULTI_GET("Multi_Get"),
   RETRIEVAL("Retrieval"),
   UPDATING("Update"),
   REMOVAL("Removal"),
+  UPSERT("Upsert"),
   END("End", "Ending Test", "Completed Test in %s");
 
   @Getter
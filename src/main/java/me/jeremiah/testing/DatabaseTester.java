@@ -1,117 +1,331 @@
 package me.jeremiah.testing;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import lombok.Getter;
+import me.jeremiah.Dataset;
 import me.jeremiah.Entry;
+import me.jeremiah.ExceptionManager;
 import me.jeremiah.Main;
 import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Digest;
+import me.jeremiah.databases.DigestCapable;
+import me.jeremiah.databases.DigestComparison;
+import me.jeremiah.databases.MemoryReporting;
+import me.jeremiah.databases.VerificationResult;
+import me.jeremiah.testing.workload.*;
+import me.jeremiah.utils.EntryGenerator;
 import me.jeremiah.utils.FileUtils;
 import me.jeremiah.utils.TimeUtils;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class DatabaseTester {
 
   public static DatabaseTester test(Database database, int... entryAmount) {
-    return new DatabaseTester(database, entryAmount);
+    return test(database, new TestSettings(), entryAmount);
+  }
+
+  public static DatabaseTester test(Database database, TestSettings settings, int... entryAmount) {
+    return new DatabaseTester(database, settings, entryAmount);
   }
 
   @Getter
   private final Database database;
+  private final TestSettings settings;
 
   private final int[] entryAmounts;
-  private final Entry[] entries;
+  private final EntryGenerator generator;
+  private int updatedEntries;
+  private int upsertedFrom;
 
   @Getter
-  private final Map<Integer, TestTimings> timings = new LinkedHashMap<>();
+  private final Map<Integer, List<TestTimings>> timings = new LinkedHashMap<>();
   private TestTimings currentTimings;
+  private boolean warmingUp;
 
-  private final List<List<Boolean>> verificationResults;
+  private final List<List<VerificationResult>> verificationResults;
+  private final List<List<DigestComparison>> digestResults = new ArrayList<>();
 
   private int verificationIndex = -1;
 
-  private DatabaseTester(Database database, int... entryAmounts) {
+  private WorkerGroup workers;
+
+  @Getter
+  private final Map<Integer, List<Double>> memoryPerEntry = new LinkedHashMap<>();
+
+  @Getter
+  private final List<WorkloadResult> workloadResults = new ArrayList<>();
+  @Getter
+  private final List<RampResult> rampResults = new ArrayList<>();
+
+  private DatabaseTester(Database database, TestSettings settings, int... entryAmounts) {
     this.database = database;
+    this.settings = settings;
     this.entryAmounts = entryAmounts;
-    this.entries = new Entry[ Arrays.stream(entryAmounts).max().orElse(0) ];
+    this.generator = new EntryGenerator(settings.getSeed());
     this.verificationResults = new ArrayList<>();
   }
 
-  private void generateEntries() {
-    Arrays.setAll(entries, Entry::new);
-  }
-
   public void start() {
-    System.out.printf("Starting Database Test for %s [%s]%n",
+    System.out.printf("Starting Database Test for %s [%s] with %d %s worker(s)%n",
       database.getName(),
-      Arrays.stream(entryAmounts).mapToObj(String::valueOf).collect(Collectors.joining(", "))
+      Arrays.stream(entryAmounts).mapToObj(String::valueOf).collect(Collectors.joining(", ")),
+      settings.getWorkers(),
+      settings.isVirtualThreads() ? "virtual" : "platform"
     );
 
-    generateEntries();
-
     System.out.printf("Initializing %s%n", database.getName());
     database.open();
+    try (WorkerGroup workers = new WorkerGroup(database, settings)) {
+      this.workers = workers;
+      runTests();
+    } finally {
+      this.workers = null;
+    }
+    runWorkloads();
+    database.close();
+  }
+
+  private void runTests() {
     for (int currentEntryAmount : entryAmounts) {
-      System.out.printf("Testing %s for %d Entries%n", database.getName(), currentEntryAmount);
+      warmingUp = true;
+      for (int iteration = 1; iteration <= settings.getWarmupIterations(); iteration++) {
+        System.out.printf("Warming up %s for %d Entries (%d/%d)%n", database.getName(), currentEntryAmount, iteration, settings.getWarmupIterations());
+        runIteration(currentEntryAmount);
+      }
 
-      verificationIndex = 0;
-      int tenPercent = (int) (currentEntryAmount * 0.1);
-      currentTimings = new TestTimings();
+      warmingUp = false;
+      List<TestTimings> iterations = new ArrayList<>();
+      for (int iteration = 1; iteration <= settings.getIterations(); iteration++) {
+        System.out.printf("Testing %s for %d Entries (%d/%d)%n", database.getName(), currentEntryAmount, iteration, settings.getIterations());
+        iterations.add(runIteration(currentEntryAmount));
+      }
+      timings.put(currentEntryAmount, iterations);
+    }
+  }
 
+  private void runWorkloads() {
+    for (Workload workload : settings.getWorkloads()) {
+      WorkloadEngine engine = new WorkloadEngine(database, workload, settings);
       database.wipe();
-      runInsertionTest(currentEntryAmount);
-      runVerificationTest(0, currentEntryAmount);
-      runUpdatingTest(tenPercent);
-      runVerificationTest(0, currentEntryAmount);
-      runRemovalTest(tenPercent);
-      runVerificationTest(tenPercent, currentEntryAmount);
-      currentTimings.time();
-      timings.put(currentEntryAmount, currentTimings);
+      engine.load();
+      workloadResults.add(engine.run());
+    }
+    for (RateRamp rateRamp : settings.getRateRamps()) {
+      OpenLoopGenerator generator = new OpenLoopGenerator(database, rateRamp, settings);
+      database.wipe();
+      generator.load();
+      rampResults.add(generator.ramp());
     }
-    database.close();
+  }
+
+  private TestTimings runIteration(int entryAmount) {
+    verificationIndex = 0;
+    updatedEntries = 0;
+    upsertedFrom = Integer.MAX_VALUE;
+    int tenPercent = (int) (entryAmount * 0.1);
+    currentTimings = new TestTimings();
+
+    database.wipe();
+    long baselineMemory = database instanceof MemoryReporting reporting ? reporting.getUsedMemory() : 0;
+    runInsertionTest(entryAmount);
+    runVerificationTest(0, entryAmount);
+    runExistenceTest(entryAmount);
+    runBatchedExistenceTest(entryAmount);
+    runMultiGetTest(entryAmount);
+    runUpdatingTest(tenPercent);
+    runVerificationTest(0, entryAmount);
+    runRemovalTest(tenPercent);
+    runVerificationTest(tenPercent, entryAmount);
+    int upsertedTo = runUpsertTest(entryAmount, tenPercent);
+    runVerificationTest(tenPercent, upsertedTo);
+    currentTimings.time();
+    recordMemoryPerEntry(entryAmount, baselineMemory, upsertedTo - tenPercent);
+    return currentTimings;
+  }
+
+  // Measured once the timed phases are over so the INFO round trip never lands inside a timing
+  private void recordMemoryPerEntry(int entryAmount, long baselineMemory, int storedEntries) {
+    if (warmingUp || storedEntries <= 0 || !(database instanceof MemoryReporting reporting))
+      return;
+    double perEntry = (double) (reporting.getUsedMemory() - baselineMemory) / storedEntries;
+    System.out.printf("%s holds %.1f bytes per entry%n", database.getName(), perEntry);
+    memoryPerEntry.computeIfAbsent(entryAmount, _ -> new ArrayList<>()).add(perEntry);
   }
 
   private void runInsertionTest(int entryAmount) {
     currentTimings.time(DatabaseOperation.INSERTION);
-    database.insert(Arrays.copyOf(entries, entryAmount));
+    currentTimings.record(runPhase(entryAmount, settings.getBatchSize(),
+      (_, from, to) -> generator.generate(from, to, 0),
+      (_, _, _, batch) -> database.insert(batch),
+      (_, _, _, batch) -> database.insertAsync(batch)));
+  }
+
+  private void runExistenceTest(int entryAmount) {
+    int lookups = settings.getLookups() > 0 ? settings.getLookups() : entryAmount;
+    KeyDistribution.KeyChooser chooser = settings.getKeyDistribution().chooser(0, entryAmount);
+    RandomGenerator[] randoms = workers.randoms(settings.getSeed());
+    AtomicInteger missing = new AtomicInteger();
+    currentTimings.time(DatabaseOperation.EXISTENCE);
+    currentTimings.record(runPhase(lookups, 1,
+      (worker, _, _) -> chooser.next(randoms[worker]),
+      (_, _, _, id) -> {
+        if (!database.exists(id))
+          missing.incrementAndGet();
+      },
+      (_, _, _, id) -> database.existsAsync(id).thenAccept(found -> {
+        if (!found)
+          missing.incrementAndGet();
+      })));
+    if (missing.get() > 0)
+      ExceptionManager.handleException(database, new IllegalStateException("Existence mismatch: " + missing.get() + " of " + lookups + " lookups missed"));
+  }
+
+  private void runBatchedExistenceTest(int entryAmount) {
+    int lookups = settings.getLookups() > 0 ? settings.getLookups() : entryAmount;
+    AtomicInteger missing = new AtomicInteger();
+    currentTimings.time(DatabaseOperation.BATCHED_EXISTENCE);
+    currentTimings.record(runPhase(lookups, settings.getBatchSize(), lookupSource(entryAmount),
+      (_, _, _, ids) -> countMissing(database.existsAll(ids), missing),
+      (_, _, _, ids) -> database.existsAllAsync(ids).thenAccept(found -> countMissing(found, missing))));
+    if (missing.get() > 0)
+      ExceptionManager.handleException(database, new IllegalStateException("Batched existence mismatch: " + missing.get() + " of " + lookups + " lookups missed"));
+  }
+
+  private void runMultiGetTest(int entryAmount) {
+    int lookups = settings.getLookups() > 0 ? settings.getLookups() : entryAmount;
+    AtomicInteger missing = new AtomicInteger();
+    currentTimings.time(DatabaseOperation.MULTI_GET);
+    currentTimings.record(runPhase(lookups, settings.getBatchSize(), lookupSource(entryAmount),
+      (_, _, _, ids) -> countMissing(ids, database.selectByIds(ids), missing),
+      (_, _, _, ids) -> database.selectByIdsAsync(ids).thenAccept(entries -> countMissing(ids, entries, missing))));
+    if (missing.get() > 0)
+      ExceptionManager.handleException(database, new IllegalStateException("Multi-get mismatch: " + missing.get() + " of " + lookups + " lookups missed"));
+  }
+
+  private WorkerGroup.BatchSource<int[]> lookupSource(int entryAmount) {
+    KeyDistribution.KeyChooser chooser = settings.getKeyDistribution().chooser(0, entryAmount);
+    RandomGenerator[] randoms = workers.randoms(settings.getSeed());
+    return (worker, from, to) -> {
+      int[] ids = new int[to - from];
+      for (int i = 0; i < ids.length; i++)
+        ids[i] = chooser.next(randoms[worker]);
+      return ids;
+    };
+  }
+
+  private static void countMissing(boolean[] found, AtomicInteger missing) {
+    for (boolean present : found)
+      if (!present)
+        missing.incrementAndGet();
+  }
+
+  private static void countMissing(int[] ids, Map<Integer, Entry> entries, AtomicInteger missing) {
+    for (int id : ids)
+      if (!entries.containsKey(id))
+        missing.incrementAndGet();
   }
 
   private void runUpdatingTest(int entryAmount) {
-    currentTimings.time();
-    for (int i = 0; i < entryAmount; i++)
-      entries[i] = new Entry(entries[i].getId());
     currentTimings.time(DatabaseOperation.UPDATING);
-    database.update(Arrays.copyOf(entries, entryAmount));
+    currentTimings.record(runPhase(entryAmount, settings.getBatchSize(),
+      (_, from, to) -> generator.generate(from, to, 1),
+      (_, _, _, batch) -> database.update(batch),
+      (_, _, _, batch) -> database.updateAsync(batch)));
+    updatedEntries = entryAmount;
   }
 
   private void runRemovalTest(int entryAmount) {
     currentTimings.time(DatabaseOperation.REMOVAL);
-    database.remove(Arrays.copyOf(entries, entryAmount));
+    currentTimings.record(runPhase(entryAmount, settings.getBatchSize(),
+      (_, from, to) -> IntStream.range(from, to).boxed().toArray(Integer[]::new),
+      (_, _, _, batch) -> database.remove(batch),
+      (_, _, _, batch) -> database.removeAsync(batch)));
+  }
+
+  // Upserts a contiguous id range straddling the end of the dataset, so the configured share of keys is new
+  private int runUpsertTest(int entryAmount, int upserts) {
+    int from = entryAmount - (int) Math.round(upserts * (1 - settings.getUpsertNewKeyRatio()));
+    currentTimings.time(DatabaseOperation.UPSERT);
+    currentTimings.record(runPhase(upserts, settings.getBatchSize(),
+      (_, batchFrom, batchTo) -> generator.generate(from + batchFrom, from + batchTo, 2),
+      (_, _, _, batch) -> database.upsert(batch),
+      (_, _, _, batch) -> database.upsertAsync(batch)));
+    upsertedFrom = from;
+    return from + upserts;
+  }
+
+  private <T> WorkerStatistics runPhase(int operations, int batchSize, WorkerGroup.BatchSource<T> source,
+                                        WorkerGroup.BatchTask<T> task, WorkerGroup.AsyncBatchTask<T> asyncTask) {
+    if (settings.getAsyncDepth() > 0)
+      return workers.runAsync(operations, batchSize, settings.getAsyncDepth(), source, asyncTask);
+    return workers.run(operations, batchSize, source, task);
   }
 
   private void runRetrievalTest() {
     currentTimings.time(DatabaseOperation.RETRIEVAL);
-    database.select();
+    database.stream(settings.getFetchSize(), _ -> {});
   }
 
+  // A server-side digest replaces the stream when enabled, so only the aggregate crosses the wire
   private void runVerificationTest(int from, int to) {
-    currentTimings.time(DatabaseOperation.VERIFICATION);
-    if (verificationResults.size() <= verificationIndex)
-      verificationResults.add(verificationIndex, new ArrayList<>());
-    verificationResults.get(verificationIndex).add(database.verifyData(Arrays.copyOfRange(entries, from, to)));
+    int updated = updatedEntries;
+    int upserted = upsertedFrom;
+    Dataset expected = new Dataset(generator, from, to, id -> id >= upserted ? 2 : id < updated ? 1 : 0);
+    if (usesDigestVerification()) {
+      currentTimings.time(DatabaseOperation.DIGEST);
+      DigestCapable digestCapable = (DigestCapable) database;
+      DigestComparison result = Digest.of(expected, digestCapable.getDigestMode()).compare(digestCapable.digest());
+      if (!result.passed())
+        System.out.printf("Digest check of %s %s%n", database.getName(), result.describe());
+      recordVerification(digestResults, result);
+    } else {
+      currentTimings.time(DatabaseOperation.VERIFICATION);
+      VerificationResult result = database.verify(expected, settings.getFetchSize(), settings.getVerificationParallelism());
+      if (!result.passed())
+        System.out.printf("Verification of %s %s%n", database.getName(), result.describe());
+      recordVerification(verificationResults, result);
+    }
+  }
+
+  private <R> void recordVerification(List<List<R>> results, R result) {
+    if (warmingUp)
+      return;
+    if (results.size() <= verificationIndex)
+      results.add(verificationIndex, new ArrayList<>());
+    results.get(verificationIndex).add(result);
     verificationIndex++;
   }
 
+  private boolean usesDigestVerification() {
+    return settings.isDigestVerification() && database instanceof DigestCapable;
+  }
+
+  public Map<String, Map<String, TimingStatistics>> getTimeStatistics() {
+    Map<String, Map<String, TimingStatistics>> statistics = new LinkedHashMap<>();
+    timings.forEach((entryAmount, iterations) -> {
+      Map<String, TimingStatistics> phases = new LinkedHashMap<>();
+      for (String phase : iterations.getFirst().getNumericalMappings().keySet())
+        phases.put(phase, TimingStatistics.of(iterations.stream().mapToLong(timing -> timing.getNumericalMappings().get(phase)).toArray()));
+      statistics.put(entryAmount + " Entries", phases);
+    });
+    return statistics;
+  }
+
   public Map<String, Map<String, String>> getTimeMappings() {
-    return timings.entrySet().stream()
+    return getTimeStatistics().entrySet().stream()
       .collect(Collectors.toMap(
-        entry -> entry.getKey() + " Entries",
-        entry -> entry.getValue().getFormattedMappings().entrySet().stream()
+        Map.Entry::getKey,
+        entry -> entry.getValue().entrySet().stream()
           .collect(Collectors.toMap(
             Map.Entry::getKey,
-            Map.Entry::getValue,
+            phase -> phase.getValue().format(),
             (existing, _) -> existing,
             LinkedHashMap::new
           )),
@@ -120,17 +334,90 @@ public class DatabaseTester {
       ));
   }
 
+  public TimingStatistics getTotalTimeStatistics() {
+    long[] totals = new long[settings.getIterations()];
+    for (List<TestTimings> iterations : timings.values())
+      for (int i = 0; i < totals.length; i++)
+        totals[i] += iterations.get(i).getTotalTime();
+    return TimingStatistics.of(totals);
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     json.addProperty("Entries", Arrays.stream(entryAmounts).mapToObj(String::valueOf).collect(Collectors.joining(", ")));
     json.addProperty("Total_Test_Time",
-      TimeUtils.formatTime(timings.values().stream().mapToLong(TestTimings::getTotalTime).sum()));
+      TimeUtils.formatTime(timings.values().stream().flatMap(List::stream).mapToLong(TestTimings::getTotalTime).sum()));
+    json.addProperty("Iterations", settings.getIterations());
+    json.addProperty("Warmup_Iterations", settings.getWarmupIterations());
+    json.addProperty("Seed", settings.getSeed());
+    json.addProperty("Lookup_Distribution", settings.getKeyDistribution().getName());
     for (int i = 0; i < verificationResults.size(); i++)
-      json.addProperty("Verification_Results_" + (i + 1), verificationResults.get(i).stream().map(result -> result ? "Passed" : "Failed").collect(Collectors.joining(", ")));
+      json.addProperty("Verification_Results_" + (i + 1), verificationResults.get(i).stream().map(result -> result.passed() ? "Passed" : "Failed").collect(Collectors.joining(", ")));
+    JsonObject verificationFailures = new JsonObject();
+    for (int i = 0; i < verificationResults.size(); i++) {
+      JsonArray failures = new JsonArray();
+      verificationResults.get(i).stream().filter(result -> !result.passed()).map(VerificationResult::toJson).forEach(failures::add);
+      if (!failures.isEmpty())
+        verificationFailures.add("Verification_" + (i + 1), failures);
+    }
+    if (!verificationFailures.isEmpty())
+      json.add("Verification_Failures", verificationFailures);
+    for (int i = 0; i < digestResults.size(); i++)
+      json.addProperty("Digest_Results_" + (i + 1), digestResults.get(i).stream().map(result -> result.passed() ? "Passed" : "Failed").collect(Collectors.joining(", ")));
+    JsonObject digestFailures = new JsonObject();
+    for (int i = 0; i < digestResults.size(); i++) {
+      JsonArray failures = new JsonArray();
+      digestResults.get(i).stream().filter(result -> !result.passed()).map(DigestComparison::toJson).forEach(failures::add);
+      if (!failures.isEmpty())
+        digestFailures.add("Digest_" + (i + 1), failures);
+    }
+    if (!digestFailures.isEmpty())
+      json.add("Digest_Failures", digestFailures);
     getTimeMappings().values().stream()
       .flatMap(mappings -> mappings.entrySet().stream())
       .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (v1, v2) -> v1 + ", " + v2, LinkedHashMap::new))
       .forEach(json::addProperty);
+    json.addProperty("Workers", settings.getWorkers() + (settings.isVirtualThreads() ? " (virtual)" : " (platform)"));
+    json.addProperty("Async_Depth", settings.getAsyncDepth());
+    json.addProperty("Upsert_New_Key_Ratio", settings.getUpsertNewKeyRatio());
+    if (!memoryPerEntry.isEmpty()) {
+      JsonObject memory = new JsonObject();
+      memoryPerEntry.forEach((entryAmount, values) ->
+        memory.addProperty(entryAmount + " Entries", String.format("%.1f B", values.stream().mapToDouble(Double::doubleValue).average().orElse(0))));
+      json.add("Memory_Per_Entry", memory);
+    }
+    timings.values().stream()
+      .flatMap(List::stream)
+      .flatMap(timing -> timing.getThroughputMappings().entrySet().stream())
+      .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (v1, v2) -> v1 + ", " + v2, LinkedHashMap::new))
+      .forEach(json::addProperty);
+    JsonObject statistics = new JsonObject();
+    getTimeStatistics().forEach((entryAmount, phases) -> {
+      JsonObject phaseStatistics = new JsonObject();
+      phases.forEach((phase, phaseStatistic) -> phaseStatistics.add(phase, phaseStatistic.toJson()));
+      statistics.add(entryAmount, phaseStatistics);
+    });
+    json.add("Statistics", statistics);
+    JsonObject latencies = new JsonObject();
+    timings.forEach((entryAmount, iterations) -> {
+      Map<DatabaseOperation, LatencyHistogram> merged = new LinkedHashMap<>();
+      for (TestTimings timing : iterations)
+        timing.getLatencies().forEach((operation, histogram) -> merged.computeIfAbsent(operation, _ -> new LatencyHistogram()).add(histogram));
+      JsonObject operations = new JsonObject();
+      merged.forEach((operation, histogram) -> operations.add(operation.getName(), histogram.toJson()));
+      latencies.add(entryAmount + " Entries", operations);
+    });
+    json.add("Latencies", latencies);
+    if (!workloadResults.isEmpty()) {
+      JsonObject workloads = new JsonObject();
+      workloadResults.forEach(result -> workloads.add(result.getWorkload().getName(), result.toJson()));
+      json.add("Workloads", workloads);
+    }
+    if (!rampResults.isEmpty()) {
+      JsonObject ramps = new JsonObject();
+      rampResults.forEach(result -> ramps.add(result.getRamp().getWorkload().getName(), result.toJson()));
+      json.add("Open_Loop", ramps);
+    }
     return json;
   }
 
@@ -141,9 +428,12 @@ public class DatabaseTester {
   }
 
   public boolean verified() {
-    for (List<Boolean> verificationResults : verificationResults)
-      for (boolean result : verificationResults)
-        if (!result) return false;
+    for (List<VerificationResult> verificationResults : verificationResults)
+      for (VerificationResult result : verificationResults)
+        if (!result.passed()) return false;
+    for (List<DigestComparison> digestResults : digestResults)
+      for (DigestComparison result : digestResults)
+        if (!result.passed()) return false;
     return true;
   }
 
@@ -0,0 +1,166 @@
+package me.jeremiah.testing;
+
+import java.util.random.RandomGenerator;
+
+public interface KeyDistribution {
+
+  static KeyDistribution uniform() {
+    return new Uniform();
+  }
+
+  static KeyDistribution zipfian(double skew) {
+    return new Zipfian(skew);
+  }
+
+  static KeyDistribution hotspot(double hotSetFraction, double hotOperationFraction) {
+    return new Hotspot(hotSetFraction, hotOperationFraction);
+  }
+
+  static KeyDistribution latest(double skew) {
+    return new Latest(skew);
+  }
+
+  String getName();
+
+  KeyChooser chooser(int from, int to);
+
+  default boolean followsInserts() {
+    return false;
+  }
+
+  interface KeyChooser {
+
+    int next(RandomGenerator random);
+
+  }
+
+  record Uniform() implements KeyDistribution {
+
+    @Override
+    public String getName() {
+      return "Uniform";
+    }
+
+    @Override
+    public KeyChooser chooser(int from, int to) {
+      return random -> random.nextInt(from, to);
+    }
+
+  }
+
+  // Ranks are scrambled across the key space so the hottest keys are not neighbours, as in YCSB
+  record Zipfian(double skew) implements KeyDistribution {
+
+    public Zipfian {
+      if (skew <= 0 || skew >= 1)
+        throw new IllegalArgumentException("Zipfian skew must be between 0 and 1 (exclusive)");
+    }
+
+    @Override
+    public String getName() {
+      return "Zipfian(" + skew + ")";
+    }
+
+    @Override
+    public KeyChooser chooser(int from, int to) {
+      ZipfianRanks ranks = new ZipfianRanks(to - from, skew);
+      return random -> from + (int) Math.floorMod(scramble(ranks.next(random)), (long) (to - from));
+    }
+
+    private static long scramble(long rank) {
+      long hash = 0xCBF29CE484222325L;
+      for (int i = 0; i < Long.BYTES; i++) {
+        hash ^= (rank >>> (i * 8)) & 0xFF;
+        hash *= 0x100000001B3L;
+      }
+      return hash;
+    }
+
+  }
+
+  record Hotspot(double hotSetFraction, double hotOperationFraction) implements KeyDistribution {
+
+    public Hotspot {
+      if (hotSetFraction <= 0 || hotSetFraction >= 1 || hotOperationFraction < 0 || hotOperationFraction > 1)
+        throw new IllegalArgumentException("Hotspot fractions must be between 0 and 1");
+    }
+
+    @Override
+    public String getName() {
+      return "Hotspot(" + hotSetFraction + ", " + hotOperationFraction + ")";
+    }
+
+    @Override
+    public KeyChooser chooser(int from, int to) {
+      int hotTo = from + Math.max(1, (int) ((to - from) * hotSetFraction));
+      return random -> {
+        if (random.nextDouble() < hotOperationFraction || hotTo >= to)
+          return random.nextInt(from, hotTo);
+        return random.nextInt(hotTo, to);
+      };
+    }
+
+  }
+
+  record Latest(double skew) implements KeyDistribution {
+
+    public Latest {
+      if (skew <= 0 || skew >= 1)
+        throw new IllegalArgumentException("Latest skew must be between 0 and 1 (exclusive)");
+    }
+
+    @Override
+    public String getName() {
+      return "Latest(" + skew + ")";
+    }
+
+    @Override
+    public boolean followsInserts() {
+      return true;
+    }
+
+    @Override
+    public KeyChooser chooser(int from, int to) {
+      ZipfianRanks ranks = new ZipfianRanks(to - from, skew);
+      return random -> to - 1 - (int) ranks.next(random);
+    }
+
+  }
+
+  // Gray et al., "Quickly Generating Billion-Record Synthetic Databases", as used by YCSB
+  class ZipfianRanks {
+
+    private final long items;
+    private final double theta;
+    private final double zetaN;
+    private final double alpha;
+    private final double eta;
+
+    ZipfianRanks(long items, double theta) {
+      if (items < 1)
+        throw new IllegalArgumentException("Zipfian distribution needs at least one item");
+      this.items = items;
+      this.theta = theta;
+      this.zetaN = zeta(items, theta);
+      this.alpha = 1.0 / (1.0 - theta);
+      this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta(Math.min(2, items), theta) / zetaN);
+    }
+
+    private static double zeta(long items, double theta) {
+      double sum = 0;
+      for (long i = 1; i <= items; i++)
+        sum += 1 / Math.pow(i, theta);
+      return sum;
+    }
+
+    long next(RandomGenerator random) {
+      double u = random.nextDouble();
+      double uz = u * zetaN;
+      if (uz < 1.0) return 0;
+      if (uz < 1.0 + Math.pow(0.5, theta)) return Math.min(1, items - 1);
+      return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+  }
+
+}
@@ -0,0 +1,78 @@
+package me.jeremiah.testing;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import me.jeremiah.utils.TimeUtils;
+
+// Log-linear buckets in the style of HdrHistogram: values below 2^(SUB_BUCKET_BITS + 1) are exact,
+// everything above is split into 2^SUB_BUCKET_BITS linear sub-buckets per power of two (< 1% error).
+// Recording never allocates; histograms are merged after the fact so each thread owns its own.
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+  private static final int BUCKET_COUNT = LINEAR_LIMIT + (Long.SIZE - 2 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  private static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+
+  private final long[] counts = new long[BUCKET_COUNT];
+  @Getter
+  private long totalCount;
+  @Getter
+  private long max;
+
+  public void record(long value) {
+    if (value < 0) value = 0;
+    counts[indexOf(value)]++;
+    totalCount++;
+    if (value > max) max = value;
+  }
+
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKET_COUNT; i++)
+      counts[i] += other.counts[i];
+    totalCount += other.totalCount;
+    max = Math.max(max, other.max);
+  }
+
+  public long getValueAtPercentile(double percentile) {
+    if (totalCount == 0) return 0;
+    long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+    long cumulative = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      cumulative += counts[i];
+      if (cumulative >= target)
+        return Math.min(highestEquivalentValue(i), max);
+    }
+    return max;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    json.addProperty("Samples", totalCount);
+    for (double percentile : REPORTED_PERCENTILES)
+      json.addProperty("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+        TimeUtils.formatTime(getValueAtPercentile(percentile)));
+    json.addProperty("Max", TimeUtils.formatTime(max));
+    return json;
+  }
+
+  private static int indexOf(long value) {
+    if (value < LINEAR_LIMIT)
+      return (int) value;
+    int magnitude = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return LINEAR_LIMIT + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  private static long highestEquivalentValue(int index) {
+    if (index < LINEAR_LIMIT)
+      return index;
+    int magnitude = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS + 1;
+    long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+    int shift = magnitude - SUB_BUCKET_BITS;
+    return ((SUB_BUCKET_COUNT + subBucket) << shift) + (1L << shift) - 1;
+  }
+
+}
@@ -15,26 +15,51 @@ import java.util.List;
 public class TestCluster {
 
   public static TestCluster test(Collection<Database> databases, int... entryAmounts) {
-    return new TestCluster(databases, entryAmounts);
+    return test(databases, new TestSettings(), entryAmounts);
+  }
+
+  public static TestCluster test(Collection<Database> databases, TestSettings settings, int... entryAmounts) {
+    return new TestCluster(databases, settings, entryAmounts);
   }
 
   private final List<DatabaseTester> testers = new ArrayList<>();
 
-  private TestCluster(Collection<Database> databases, int... entryAmounts) {
-    databases.forEach(database -> testers.add(DatabaseTester.test(database, entryAmounts)));
+  private TestCluster(Collection<Database> databases, TestSettings settings, int... entryAmounts) {
+    databases.forEach(database -> testers.add(DatabaseTester.test(database, settings, entryAmounts)));
   }
 
   public void start() {
     for (DatabaseTester databaseTester : testers)
       databaseTester.start();
-    testers.stream()
-      .sorted(Comparator.comparing(tester -> tester.getTimings().values().stream().mapToLong(TestTimings::getTotalTime).sum()))
-      .forEach(tester ->
-        System.out.printf("%s: %s (%s) %n",
-          tester.getDatabase().getName(),
-          TimeUtils.formatTime(tester.getTimings().values().stream().mapToLong(TestTimings::getTotalTime).sum()),
-          tester.verified())
-      );
+    printRanking();
+  }
+
+  // Databases only move down a rank when their 95% interval does not overlap the interval of the rank above
+  private void printRanking() {
+    List<DatabaseTester> ranked = testers.stream()
+      .sorted(Comparator.comparingDouble(tester -> tester.getTotalTimeStatistics().getMean()))
+      .toList();
+    if (ranked.stream().anyMatch(tester -> !tester.getTotalTimeStatistics().hasConfidenceInterval()))
+      System.out.println("At least 2 measured iterations are required to separate databases by confidence interval");
+
+    int rank = 1;
+    TimingStatistics rankLeader = null;
+    for (int i = 0; i < ranked.size(); i++) {
+      DatabaseTester tester = ranked.get(i);
+      TimingStatistics statistics = tester.getTotalTimeStatistics();
+      if (rankLeader != null && !statistics.overlaps(rankLeader)) {
+        rank = i + 1;
+        rankLeader = statistics;
+      } else if (rankLeader == null)
+        rankLeader = statistics;
+      System.out.printf("%d. %s: %s [%s - %s] (%s) %n",
+        rank,
+        tester.getDatabase().getName(),
+        statistics.format(),
+        TimeUtils.formatTime(statistics.getMin()),
+        TimeUtils.formatTime(statistics.getMax()),
+        tester.verified());
+    }
   }
 
   public JsonObject toJson() {
@@ -42,7 +67,7 @@ public class TestCluster {
     JsonObject databaseTests = new JsonObject();
 
     testers.stream()
-      .sorted(Comparator.comparing(tester -> tester.getTimings().values().stream().mapToLong(TestTimings::getTotalTime).sum()))
+      .sorted(Comparator.comparingDouble(tester -> tester.getTotalTimeStatistics().getMean()))
       .forEach(tester -> databaseTests.add(tester.getDatabase().getName(), tester.toJson()));
 
     root.add("Database_Tests", databaseTests);
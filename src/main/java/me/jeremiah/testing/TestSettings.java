@@ -0,0 +1,107 @@
+package me.jeremiah.testing;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import me.jeremiah.testing.workload.RateRamp;
+import me.jeremiah.testing.workload.Workload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class TestSettings {
+
+  private int workers = 1;
+  private boolean virtualThreads = false;
+  private int batchSize = 1_000;
+  private int fetchSize = 1_000;
+  private int asyncDepth = 0;
+  private int verificationParallelism = Runtime.getRuntime().availableProcessors();
+  // Verifies DigestCapable databases with a server-side digest instead of streaming every entry back
+  private boolean digestVerification = false;
+  private int warmupIterations = 0;
+  private int iterations = 1;
+  private int lookups = 0;
+  private double upsertNewKeyRatio = 0.5;
+  private long seed = 1L;
+  private KeyDistribution keyDistribution = KeyDistribution.uniform();
+  private List<Workload> workloads = new ArrayList<>();
+  private List<RateRamp> rateRamps = new ArrayList<>();
+
+  public TestSettings setWorkers(int workers) {
+    if (workers < 1)
+      throw new IllegalArgumentException("Worker count must be at least 1");
+    this.workers = workers;
+    return this;
+  }
+
+  public TestSettings setBatchSize(int batchSize) {
+    if (batchSize < 1)
+      throw new IllegalArgumentException("Batch size must be at least 1");
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  public TestSettings setFetchSize(int fetchSize) {
+    if (fetchSize < 1)
+      throw new IllegalArgumentException("Fetch size must be at least 1");
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
+  public TestSettings setAsyncDepth(int asyncDepth) {
+    if (asyncDepth < 0)
+      throw new IllegalArgumentException("Async depth cannot be negative");
+    this.asyncDepth = asyncDepth;
+    return this;
+  }
+
+  public TestSettings setVerificationParallelism(int verificationParallelism) {
+    if (verificationParallelism < 1)
+      throw new IllegalArgumentException("Verification parallelism must be at least 1");
+    this.verificationParallelism = verificationParallelism;
+    return this;
+  }
+
+  public TestSettings setWarmupIterations(int warmupIterations) {
+    if (warmupIterations < 0)
+      throw new IllegalArgumentException("Warmup iterations cannot be negative");
+    this.warmupIterations = warmupIterations;
+    return this;
+  }
+
+  public TestSettings setIterations(int iterations) {
+    if (iterations < 1)
+      throw new IllegalArgumentException("Iterations must be at least 1");
+    this.iterations = iterations;
+    return this;
+  }
+
+  public TestSettings setLookups(int lookups) {
+    if (lookups < 0)
+      throw new IllegalArgumentException("Lookups cannot be negative");
+    this.lookups = lookups;
+    return this;
+  }
+
+  public TestSettings setUpsertNewKeyRatio(double upsertNewKeyRatio) {
+    if (upsertNewKeyRatio < 0 || upsertNewKeyRatio > 1)
+      throw new IllegalArgumentException("Upsert new key ratio must be between 0 and 1");
+    this.upsertNewKeyRatio = upsertNewKeyRatio;
+    return this;
+  }
+
+  public TestSettings addWorkload(Workload workload) {
+    workloads.add(workload);
+    return this;
+  }
+
+  public TestSettings addRateRamp(RateRamp rateRamp) {
+    rateRamps.add(rateRamp);
+    return this;
+  }
+
+}
@@ -26,6 +26,12 @@ public class TestTimings {
       rawTimings.add(new Timing(nextOperation).start());
   }
 
+  public void record(WorkerStatistics statistics) {
+    if (rawTimings.isEmpty() || rawTimings.getLast().isComplete())
+      throw new IllegalStateException("Cannot record statistics without a running timing");
+    rawTimings.getLast().statistics = statistics;
+  }
+
   public long getTotalTime() {
     if (rawTimings.isEmpty() || !rawTimings.getLast().isComplete())
       throw new IllegalStateException("Cannot get total time before test is finished");
@@ -67,6 +73,28 @@ public class TestTimings {
     return mappings;
   }
 
+  public Map<String, String> getThroughputMappings() {
+    if (rawTimings.isEmpty() || !rawTimings.getLast().isComplete())
+      throw new IllegalStateException("Cannot get mappings before test is finished");
+    Map<String, String> mappings = new LinkedHashMap<>();
+    for (Timing timing : rawTimings) {
+      if (timing.getStatistics() == null)
+        continue;
+      String name = timing.getOperation().getName();
+      mappings.merge(name + "_Throughput", TimeUtils.formatThroughput(timing.getThroughput()), (v1, v2) -> v1 + ", " + v2);
+      mappings.merge(name + "_Worker_Throughput", timing.getStatistics().formatWorkerThroughput(), (v1, v2) -> v1 + ", " + v2);
+    }
+    return mappings;
+  }
+
+  public Map<DatabaseOperation, LatencyHistogram> getLatencies() {
+    Map<DatabaseOperation, LatencyHistogram> latencies = new LinkedHashMap<>();
+    for (Timing timing : rawTimings)
+      if (timing.getStatistics() != null)
+        latencies.computeIfAbsent(timing.getOperation(), _ -> new LatencyHistogram()).add(timing.getStatistics().getLatencies());
+    return latencies;
+  }
+
   public Map<String, String> getFormattedMappings() {
     return getNumericalMappings()
       .entrySet()
@@ -88,6 +116,7 @@ public class TestTimings {
     private final DatabaseOperation operation;
     private long start;
     private long end;
+    private @Nullable WorkerStatistics statistics;
 
     public Timing(DatabaseOperation operation) {
       this.operation = operation;
@@ -101,7 +130,14 @@ public class TestTimings {
 
     public void end() {
       end = System.nanoTime();
-      System.out.println(operation.getEndMessage(TimeUtils.formatTime(getDuration())));
+      if (statistics == null)
+        System.out.println(operation.getEndMessage(TimeUtils.formatTime(getDuration())));
+      else
+        System.out.printf("%s (%s across %d workers, p99 %s)%n",
+          operation.getEndMessage(TimeUtils.formatTime(getDuration())),
+          TimeUtils.formatThroughput(getThroughput()),
+          statistics.getWorkers(),
+          TimeUtils.formatTime(statistics.getLatencies().getValueAtPercentile(99)));
     }
 
     public boolean isComplete() {
@@ -112,5 +148,9 @@ public class TestTimings {
       return end - start;
     }
 
+    public double getThroughput() {
+      return statistics == null ? 0 : statistics.getThroughput(getDuration());
+    }
+
   }
 }
@@ -0,0 +1,90 @@
+package me.jeremiah.testing;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import me.jeremiah.utils.TimeUtils;
+
+import java.util.Arrays;
+
+@Getter
+public class TimingStatistics {
+
+  // Two-sided 95% critical values of Student's t distribution for 1..30 degrees of freedom
+  private static final double[] T_CRITICAL_VALUES = {
+    12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+    2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+    2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+  };
+
+  public static TimingStatistics of(long... samples) {
+    return new TimingStatistics(samples);
+  }
+
+  private final int samples;
+  private final double mean;
+  private final double standardDeviation;
+  private final long min;
+  private final long max;
+  private final double confidenceInterval;
+
+  private TimingStatistics(long... samples) {
+    if (samples.length == 0)
+      throw new IllegalArgumentException("Cannot compute statistics without samples");
+    this.samples = samples.length;
+    this.mean = Arrays.stream(samples).average().orElse(0);
+    this.min = Arrays.stream(samples).min().orElse(0);
+    this.max = Arrays.stream(samples).max().orElse(0);
+    if (samples.length < 2) {
+      this.standardDeviation = 0;
+      this.confidenceInterval = Double.POSITIVE_INFINITY;
+    } else {
+      double squaredDeviations = Arrays.stream(samples).mapToDouble(sample -> (sample - mean) * (sample - mean)).sum();
+      this.standardDeviation = Math.sqrt(squaredDeviations / (samples.length - 1));
+      this.confidenceInterval = tCriticalValue(samples.length - 1) * standardDeviation / Math.sqrt(samples.length);
+    }
+  }
+
+  private static double tCriticalValue(int degreesOfFreedom) {
+    if (degreesOfFreedom <= T_CRITICAL_VALUES.length) return T_CRITICAL_VALUES[degreesOfFreedom - 1];
+    if (degreesOfFreedom <= 60) return 2.000;
+    if (degreesOfFreedom <= 120) return 1.980;
+    return 1.960;
+  }
+
+  public boolean hasConfidenceInterval() {
+    return Double.isFinite(confidenceInterval);
+  }
+
+  public double getLowerBound() {
+    return mean - confidenceInterval;
+  }
+
+  public double getUpperBound() {
+    return mean + confidenceInterval;
+  }
+
+  public boolean overlaps(TimingStatistics other) {
+    return getLowerBound() <= other.getUpperBound() && other.getLowerBound() <= getUpperBound();
+  }
+
+  public String format() {
+    if (!hasConfidenceInterval())
+      return TimeUtils.formatTime(Math.round(mean));
+    return String.format("%s +/- %s", TimeUtils.formatTime(Math.round(mean)), TimeUtils.formatTime(Math.round(confidenceInterval)));
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    json.addProperty("Samples", samples);
+    json.addProperty("Mean", TimeUtils.formatTime(Math.round(mean)));
+    json.addProperty("Standard_Deviation", TimeUtils.formatTime(Math.round(standardDeviation)));
+    json.addProperty("Min", TimeUtils.formatTime(min));
+    json.addProperty("Max", TimeUtils.formatTime(max));
+    if (hasConfidenceInterval()) {
+      json.addProperty("CI95_Lower", TimeUtils.formatTime(Math.round(getLowerBound())));
+      json.addProperty("CI95_Upper", TimeUtils.formatTime(Math.round(getUpperBound())));
+    }
+    return json;
+  }
+
+}
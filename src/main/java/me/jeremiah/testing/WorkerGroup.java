@@ -0,0 +1,172 @@
+package me.jeremiah.testing;
+
+import me.jeremiah.ExceptionManager;
+import me.jeremiah.databases.Database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+import java.util.random.RandomGenerator;
+
+public class WorkerGroup implements AutoCloseable {
+
+  private final Database database;
+  private final int workers;
+  private final ExecutorService executor;
+
+  public WorkerGroup(Database database, TestSettings settings) {
+    this.database = database;
+    this.workers = settings.getWorkers();
+    if (workers == 1)
+      executor = null;
+    else if (settings.isVirtualThreads())
+      executor = Executors.newVirtualThreadPerTaskExecutor();
+    else
+      executor = Executors.newFixedThreadPool(workers);
+  }
+
+  public int size() {
+    return workers;
+  }
+
+  public WorkerStatistics run(int operations, int batchSize, RangeTask task) {
+    return run(operations, batchSize, (_, _, _) -> null, (worker, from, to, _) -> task.run(worker, from, to));
+  }
+
+  public <T> WorkerStatistics run(int operations, int batchSize, BatchSource<T> source, BatchTask<T> task) {
+    WorkerStatistics statistics = new WorkerStatistics(workers);
+    execute(worker -> {
+      int from = (int) ((long) operations * worker / workers);
+      int to = (int) ((long) operations * (worker + 1) / workers);
+      runRange(statistics, source, task, batchSize, worker, from, to);
+    });
+    return statistics;
+  }
+
+  // Keeps up to depth batches in flight per worker; latency runs from issue to completion of each batch
+  public <T> WorkerStatistics runAsync(int operations, int batchSize, int depth, BatchSource<T> source, AsyncBatchTask<T> task) {
+    WorkerStatistics statistics = new WorkerStatistics(workers);
+    execute(worker -> {
+      int from = (int) ((long) operations * worker / workers);
+      int to = (int) ((long) operations * (worker + 1) / workers);
+      LatencyHistogram latencies = statistics.getLatencies(worker);
+      Semaphore inFlight = new Semaphore(depth);
+      long start = System.nanoTime();
+      for (int batchStart = from; batchStart < to; batchStart += batchSize) {
+        int batchEnd = Math.min(batchStart + batchSize, to);
+        T batch = source.prepare(worker, batchStart, batchEnd);
+        inFlight.acquire();
+        long batchBegin = System.nanoTime();
+        task.run(worker, batchStart, batchEnd, batch).whenComplete((_, failure) -> {
+          long latency = System.nanoTime() - batchBegin;
+          synchronized (latencies) {
+            latencies.record(latency);
+          }
+          if (failure != null)
+            ExceptionManager.handleException(database, unwrap(failure));
+          inFlight.release();
+        });
+      }
+      inFlight.acquire(depth);
+      statistics.record(worker, to - from, System.nanoTime() - start);
+    });
+    return statistics;
+  }
+
+  private static Exception unwrap(Throwable failure) {
+    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    return cause instanceof Exception exception ? exception : new RuntimeException(cause);
+  }
+
+  public RandomGenerator[] randoms(long seed) {
+    SplittableRandom root = new SplittableRandom(seed);
+    RandomGenerator[] randoms = new RandomGenerator[workers];
+    Arrays.setAll(randoms, _ -> root.split());
+    return randoms;
+  }
+
+  public void execute(WorkerTask task) {
+    if (executor == null) {
+      try {
+        task.run(0);
+      } catch (Exception exception) {
+        ExceptionManager.handleException(database, exception);
+      }
+      return;
+    }
+
+    CountDownLatch startSignal = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>(workers);
+    for (int worker = 0; worker < workers; worker++) {
+      int id = worker;
+      futures.add(executor.submit(() -> {
+        startSignal.await();
+        task.run(id);
+        return null;
+      }));
+    }
+    startSignal.countDown();
+
+    for (Future<?> future : futures)
+      try {
+        future.get();
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        ExceptionManager.handleException(database, exception);
+      } catch (ExecutionException exception) {
+        ExceptionManager.handleException(database, exception.getCause() instanceof Exception cause ? cause : exception);
+      }
+  }
+
+  private <T> void runRange(WorkerStatistics statistics, BatchSource<T> source, BatchTask<T> task, int batchSize, int worker, int from, int to) throws Exception {
+    LatencyHistogram latencies = statistics.getLatencies(worker);
+    long start = System.nanoTime();
+    for (int batchStart = from; batchStart < to; batchStart += batchSize) {
+      int batchEnd = Math.min(batchStart + batchSize, to);
+      T batch = source.prepare(worker, batchStart, batchEnd);
+      long batchBegin = System.nanoTime();
+      task.run(worker, batchStart, batchEnd, batch);
+      latencies.record(System.nanoTime() - batchBegin);
+    }
+    statistics.record(worker, to - from, System.nanoTime() - start);
+  }
+
+  @Override
+  public void close() {
+    if (executor != null)
+      executor.close();
+  }
+
+  public interface WorkerTask {
+
+    void run(int worker) throws Exception;
+
+  }
+
+  public interface RangeTask {
+
+    void run(int worker, int from, int to) throws Exception;
+
+  }
+
+  public interface BatchSource<T> {
+
+    T prepare(int worker, int from, int to) throws Exception;
+
+  }
+
+  public interface BatchTask<T> {
+
+    void run(int worker, int from, int to, T batch) throws Exception;
+
+  }
+
+  public interface AsyncBatchTask<T> {
+
+    CompletableFuture<?> run(int worker, int from, int to, T batch) throws Exception;
+
+  }
+
+}
@@ -0,0 +1,60 @@
+package me.jeremiah.testing;
+
+import me.jeremiah.utils.TimeUtils;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class WorkerStatistics {
+
+  private final long[] operations;
+  private final long[] durations;
+  private final LatencyHistogram[] latencies;
+
+  public WorkerStatistics(int workers) {
+    this.operations = new long[workers];
+    this.durations = new long[workers];
+    this.latencies = new LatencyHistogram[workers];
+    Arrays.setAll(latencies, _ -> new LatencyHistogram());
+  }
+
+  void record(int worker, long operations, long duration) {
+    this.operations[worker] += operations;
+    this.durations[worker] += duration;
+  }
+
+  LatencyHistogram getLatencies(int worker) {
+    return latencies[worker];
+  }
+
+  public int getWorkers() {
+    return operations.length;
+  }
+
+  public long getOperations() {
+    return Arrays.stream(operations).sum();
+  }
+
+  public LatencyHistogram getLatencies() {
+    LatencyHistogram merged = new LatencyHistogram();
+    for (LatencyHistogram histogram : latencies)
+      merged.add(histogram);
+    return merged;
+  }
+
+  public double getThroughput(long duration) {
+    return TimeUtils.opsPerSecond(getOperations(), duration);
+  }
+
+  public double getWorkerThroughput(int worker) {
+    return TimeUtils.opsPerSecond(operations[worker], durations[worker]);
+  }
+
+  public String formatWorkerThroughput() {
+    return IntStream.range(0, getWorkers())
+      .mapToObj(worker -> TimeUtils.formatThroughput(getWorkerThroughput(worker)))
+      .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+}
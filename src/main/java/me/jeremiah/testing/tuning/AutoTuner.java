@@ -0,0 +1,136 @@
+package me.jeremiah.testing.tuning;
+
+import lombok.Getter;
+import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Knob;
+import me.jeremiah.databases.Tunable;
+import me.jeremiah.testing.TestSettings;
+import me.jeremiah.testing.workload.Workload;
+import me.jeremiah.testing.workload.WorkloadEngine;
+import me.jeremiah.utils.TimeUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sweeps each knob over its candidates, then hill-climbs from the best point with shrinking steps. Every
+// configuration is run several times and only replaces the best one when their confidence intervals do not overlap
+@Getter
+public class AutoTuner<D extends Database & Tunable> {
+
+  private static final double[] STEPS = {2.0, Math.sqrt(2)};
+
+  public static <D extends Database & Tunable> AutoTuner<D> tune(D database, Workload workload, TestSettings settings) {
+    return new AutoTuner<>(database, workload, settings);
+  }
+
+  private final D database;
+  private final Workload workload;
+  private final TestSettings settings;
+  private final Map<Map<String, Integer>, TuningResult.Trial> trials = new LinkedHashMap<>();
+  private int maxTrials = 40;
+  private int repetitions = 3;
+  private TuningResult.Trial best;
+
+  private AutoTuner(D database, Workload workload, TestSettings settings) {
+    this.database = database;
+    this.workload = workload;
+    this.settings = settings;
+  }
+
+  public AutoTuner<D> setMaxTrials(int maxTrials) {
+    if (maxTrials < 1)
+      throw new IllegalArgumentException("Max trials must be at least 1");
+    this.maxTrials = maxTrials;
+    return this;
+  }
+
+  public AutoTuner<D> setRepetitions(int repetitions) {
+    if (repetitions < 2)
+      throw new IllegalArgumentException("Repetitions must be at least 2 to give a confidence interval");
+    this.repetitions = repetitions;
+    return this;
+  }
+
+  public TuningResult start() {
+    System.out.printf("Tuning %s for Workload %s over %d trial(s) of %d run(s)%n", database.getName(), workload.getName(), maxTrials, repetitions);
+    List<Knob> knobs = database.getKnobs();
+    Map<String, Integer> initial = database.getConfiguration();
+    try {
+      best = evaluate(initial);
+
+      for (Knob knob : knobs) {
+        Map<String, Integer> base = best.configuration();
+        for (int candidate : knob.candidates())
+          consider(with(base, knob, knob.clamp(candidate)));
+      }
+
+      for (double step : STEPS) {
+        boolean improved = true;
+        while (improved && trials.size() < maxTrials) {
+          improved = false;
+          for (Knob knob : knobs) {
+            Map<String, Integer> base = best.configuration();
+            int value = base.get(knob.name());
+            improved |= consider(with(base, knob, knob.clamp(Math.round(value * step))));
+            improved |= consider(with(base, knob, knob.clamp(Math.round(value / step))));
+          }
+        }
+      }
+    } finally {
+      // A failed first trial leaves no best, so the starting point goes back without masking the failure
+      database.applyConfiguration(best != null ? best.configuration() : initial);
+    }
+
+    System.out.printf("Best configuration for %s: %s (%s)%n", database.getName(), best.configuration(), TimeUtils.formatThroughput(best.getThroughput()));
+    return new TuningResult(database.getName(), workload, best, List.copyOf(trials.values()));
+  }
+
+  private boolean consider(Map<String, Integer> configuration) {
+    if (trials.containsKey(configuration) || trials.size() >= maxTrials)
+      return false;
+    TuningResult.Trial trial = evaluate(configuration);
+    if (!trial.outperforms(best))
+      return false;
+    best = trial;
+    return true;
+  }
+
+  private TuningResult.Trial evaluate(Map<String, Integer> configuration) {
+    TuningResult.Trial cached = trials.get(configuration);
+    if (cached != null)
+      return cached;
+    System.out.printf("Trial %d/%d for %s: %s%n", trials.size() + 1, maxTrials, database.getName(), configuration);
+    database.applyConfiguration(configuration);
+    List<TuningResult.Run> runs = new ArrayList<>(repetitions);
+    for (int repetition = 0; repetition < repetitions; repetition++)
+      runs.add(run());
+    TuningResult.Trial trial = new TuningResult.Trial(Collections.unmodifiableMap(new LinkedHashMap<>(configuration)), List.copyOf(runs));
+    trials.put(trial.configuration(), trial);
+    return trial;
+  }
+
+  private TuningResult.Run run() {
+    database.open();
+    try {
+      WorkloadEngine engine = new WorkloadEngine(database, workload, settings);
+      database.wipe();
+      long start = System.nanoTime();
+      engine.load();
+      long bulkOperations = workload.getRecordCount() + engine.bulk();
+      long bulkDuration = System.nanoTime() - start;
+      return new TuningResult.Run(bulkOperations, bulkDuration, engine.run());
+    } finally {
+      database.close();
+    }
+  }
+
+  private static Map<String, Integer> with(Map<String, Integer> base, Knob knob, int value) {
+    Map<String, Integer> configuration = new LinkedHashMap<>(base);
+    configuration.put(knob.name(), value);
+    return configuration;
+  }
+
+}
@@ -0,0 +1,130 @@
+package me.jeremiah.testing.tuning;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import me.jeremiah.ExceptionManager;
+import me.jeremiah.Main;
+import me.jeremiah.databases.Database;
+import me.jeremiah.databases.Tunable;
+import me.jeremiah.testing.LatencyHistogram;
+import me.jeremiah.testing.TimingStatistics;
+import me.jeremiah.testing.workload.Workload;
+import me.jeremiah.testing.workload.WorkloadResult;
+import me.jeremiah.utils.FileUtils;
+import me.jeremiah.utils.TimeUtils;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public record TuningResult(String database, Workload workload, Trial best, List<Trial> trials) {
+
+  // Tuned configurations are kept under a stable name so later runs can pick them up
+  public static File getConfigurationFile(Database database) {
+    return getConfigurationFile(database.getName());
+  }
+
+  private static File getConfigurationFile(String database) {
+    return new File(Main.getLogDir(), String.format("tuning-%s.json", database));
+  }
+
+  public static <D extends Database & Tunable> boolean applyBestConfiguration(D database) {
+    File file = getConfigurationFile(database);
+    if (!file.exists())
+      return false;
+    try (Reader reader = new FileReader(file)) {
+      JsonObject configuration = JsonParser.parseReader(reader).getAsJsonObject().getAsJsonObject("Best_Configuration");
+      Map<String, Integer> values = new LinkedHashMap<>();
+      for (Map.Entry<String, JsonElement> entry : configuration.entrySet())
+        values.put(entry.getKey(), entry.getValue().getAsInt());
+      database.applyConfiguration(values);
+      return true;
+    } catch (IOException | RuntimeException exception) {
+      ExceptionManager.handleException(database, exception);
+      return false;
+    }
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    json.addProperty("Workload", workload.getName());
+    json.addProperty("Key_Distribution", workload.getKeyDistribution().getName());
+    json.addProperty("Record_Count", workload.getRecordCount());
+    json.add("Best_Configuration", configurationToJson(best.configuration()));
+    json.addProperty("Best_Throughput", TimeUtils.formatThroughput(best.getThroughput()));
+    JsonArray surface = new JsonArray();
+    for (Trial trial : trials) {
+      JsonObject trialJson = new JsonObject();
+      trialJson.add("Configuration", configurationToJson(trial.configuration()));
+      TimingStatistics throughput = trial.getThroughputStatistics();
+      trialJson.addProperty("Runs", throughput.getSamples());
+      trialJson.addProperty("Throughput", TimeUtils.formatThroughput(throughput.getMean()));
+      trialJson.addProperty("Throughput_CI95", TimeUtils.formatThroughput(throughput.getConfidenceInterval()));
+      LatencyHistogram latencies = trial.getLatencies();
+      trialJson.addProperty("P50", TimeUtils.formatTime(latencies.getValueAtPercentile(50)));
+      trialJson.addProperty("P99", TimeUtils.formatTime(latencies.getValueAtPercentile(99)));
+      surface.add(trialJson);
+    }
+    json.add("Surface", surface);
+    return json;
+  }
+
+  public void createLog() {
+    File logFile = new File(Main.getLogDir(), String.format("tuning-%s-%s.json", database, TimeUtils.getDateTime()));
+    FileUtils.createFile(logFile);
+    FileUtils.saveJsonToFile(logFile, toJson());
+    File configurationFile = getConfigurationFile(database);
+    if (!configurationFile.exists())
+      FileUtils.createFile(configurationFile);
+    FileUtils.saveJsonToFile(configurationFile, toJson());
+  }
+
+  private static JsonObject configurationToJson(Map<String, Integer> configuration) {
+    JsonObject json = new JsonObject();
+    new TreeMap<>(configuration).forEach(json::addProperty);
+    return json;
+  }
+
+  // A configuration measured over repeated runs; throughput is compared through its 95% confidence interval
+  public record Trial(Map<String, Integer> configuration, List<Run> runs) {
+
+    public TimingStatistics getThroughputStatistics() {
+      return TimingStatistics.of(runs.stream().mapToLong(run -> Math.round(run.getThroughput())).toArray());
+    }
+
+    public double getThroughput() {
+      return getThroughputStatistics().getMean();
+    }
+
+    public boolean outperforms(Trial other) {
+      TimingStatistics statistics = getThroughputStatistics();
+      TimingStatistics otherStatistics = other.getThroughputStatistics();
+      return statistics.getMean() > otherStatistics.getMean() && !statistics.overlaps(otherStatistics);
+    }
+
+    public LatencyHistogram getLatencies() {
+      LatencyHistogram latencies = new LatencyHistogram();
+      for (Run run : runs)
+        run.workload().getLatencies().values().forEach(latencies::add);
+      return latencies;
+    }
+
+  }
+
+  // One run of a trial: the batched load, rewrite and read-back phases, then the workload itself
+  public record Run(long bulkOperations, long bulkDuration, WorkloadResult workload) {
+
+    public double getThroughput() {
+      return TimeUtils.opsPerSecond(bulkOperations + workload.getOperations(), bulkDuration + workload.getDuration());
+    }
+
+  }
+
+}
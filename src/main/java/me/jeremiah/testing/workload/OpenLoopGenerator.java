@@ -0,0 +1,106 @@
+package me.jeremiah.testing.workload;
+
+import me.jeremiah.databases.Database;
+import me.jeremiah.testing.KeyDistribution;
+import me.jeremiah.testing.LatencyHistogram;
+import me.jeremiah.testing.TestSettings;
+import me.jeremiah.testing.WorkerGroup;
+import me.jeremiah.utils.TimeUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+// Issues operations on a fixed schedule instead of waiting for the previous call, and measures latency
+// from each operation's intended start so stalls are charged to every request queued behind them
+public class OpenLoopGenerator {
+
+  private final Database database;
+  private final RateRamp ramp;
+  private final TestSettings settings;
+  private final WorkloadEngine engine;
+  private final AtomicInteger nextId;
+
+  public OpenLoopGenerator(Database database, RateRamp ramp, TestSettings settings) {
+    this.database = database;
+    this.ramp = ramp;
+    this.settings = settings;
+    this.engine = new WorkloadEngine(database, ramp.getWorkload(), settings);
+    this.nextId = new AtomicInteger(ramp.getWorkload().getRecordCount());
+  }
+
+  public void load() {
+    engine.load();
+  }
+
+  public RampResult ramp() {
+    System.out.printf("Starting Open-Loop Ramp for Workload %s on %s%n", ramp.getWorkload().getName(), database.getName());
+    List<RampResult.Step> steps = new ArrayList<>();
+    long latencyBound = ramp.getLatencyBound().toNanos();
+    for (double rate = ramp.getStartRate(); rate <= ramp.getMaxRate(); rate *= ramp.getRateMultiplier()) {
+      RampResult.Step step = runAt(rate, ramp.getStepDuration());
+      steps.add(step);
+      System.out.printf("  Target %s: achieved %s, p99 %s (uncorrected %s)%n",
+        TimeUtils.formatThroughput(step.targetRate()),
+        TimeUtils.formatThroughput(step.achievedRate()),
+        TimeUtils.formatTime(step.latencies().getValueAtPercentile(99)),
+        TimeUtils.formatTime(step.serviceTimes().getValueAtPercentile(99)));
+      if (step.latencies().getValueAtPercentile(99) > latencyBound)
+        break;
+    }
+    RampResult result = new RampResult(ramp, steps);
+    System.out.printf("Maximum sustainable throughput for Workload %s: %s%n", ramp.getWorkload().getName(), TimeUtils.formatThroughput(result.getMaxSustainableRate()));
+    return result;
+  }
+
+  public RampResult.Step runAt(double rate, Duration duration) {
+    Workload workload = ramp.getWorkload();
+    int recordCount = workload.getRecordCount();
+    KeyDistribution.KeyChooser chooser = workload.getKeyDistribution().chooser(0, recordCount);
+    boolean followsInserts = workload.getKeyDistribution().followsInserts();
+    double interval = 1_000_000_000.0 / rate;
+    long operations = Math.max(1, (long) (rate * duration.toNanos() / 1_000_000_000.0));
+    AtomicLong sequence = new AtomicLong();
+
+    List<LatencyHistogram> workerLatencies = new ArrayList<>();
+    List<LatencyHistogram> workerServiceTimes = new ArrayList<>();
+    long elapsed;
+    try (WorkerGroup workers = new WorkerGroup(database, settings)) {
+      for (int worker = 0; worker < workers.size(); worker++) {
+        workerLatencies.add(new LatencyHistogram());
+        workerServiceTimes.add(new LatencyHistogram());
+      }
+
+      RandomGenerator[] randoms = workers.randoms(settings.getSeed());
+      long start = System.nanoTime();
+      workers.execute(worker -> {
+        LatencyHistogram latencies = workerLatencies.get(worker);
+        LatencyHistogram serviceTimes = workerServiceTimes.get(worker);
+        RandomGenerator random = randoms[worker];
+        long next;
+        while ((next = sequence.getAndIncrement()) < operations) {
+          long intendedStart = start + (long) (next * interval);
+          long now;
+          while ((now = System.nanoTime()) < intendedStart)
+            LockSupport.parkNanos(intendedStart - now);
+          OperationType type = workload.choose(random);
+          int id = chooser.next(random) + (followsInserts ? nextId.get() - recordCount : 0);
+          serviceTimes.record(engine.perform(type, id, random, nextId));
+          latencies.record(System.nanoTime() - intendedStart);
+        }
+      });
+      elapsed = System.nanoTime() - start;
+    }
+
+    LatencyHistogram latencies = new LatencyHistogram();
+    workerLatencies.forEach(latencies::add);
+    LatencyHistogram serviceTimes = new LatencyHistogram();
+    workerServiceTimes.forEach(serviceTimes::add);
+    return new RampResult.Step(rate, TimeUtils.opsPerSecond(latencies.getTotalCount(), elapsed), latencies, serviceTimes);
+  }
+
+}
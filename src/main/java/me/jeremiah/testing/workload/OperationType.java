@@ -0,0 +1,18 @@
+package me.jeremiah.testing.workload;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum OperationType {
+  READ("Read"),
+  UPDATE("Update"),
+  INSERT("Insert"),
+  REMOVE("Remove"),
+  SCAN("Scan"),
+  READ_MODIFY_WRITE("Read-Modify-Write");
+
+  private final String name;
+
+}
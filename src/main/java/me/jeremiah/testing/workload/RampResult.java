@@ -0,0 +1,52 @@
+package me.jeremiah.testing.workload;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import me.jeremiah.testing.LatencyHistogram;
+import me.jeremiah.utils.TimeUtils;
+
+import java.util.List;
+
+@Getter
+public class RampResult {
+
+  private final RateRamp ramp;
+  private final List<Step> steps;
+
+  public RampResult(RateRamp ramp, List<Step> steps) {
+    this.ramp = ramp;
+    this.steps = List.copyOf(steps);
+  }
+
+  public double getMaxSustainableRate() {
+    long latencyBound = ramp.getLatencyBound().toNanos();
+    return steps.stream()
+      .filter(step -> step.latencies().getValueAtPercentile(99) <= latencyBound)
+      .mapToDouble(Step::achievedRate)
+      .max()
+      .orElse(0);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    json.addProperty("Key_Distribution", ramp.getWorkload().getKeyDistribution().getName());
+    json.addProperty("P99_Bound", TimeUtils.formatTime(ramp.getLatencyBound().toNanos()));
+    json.addProperty("Max_Sustainable_Throughput", TimeUtils.formatThroughput(getMaxSustainableRate()));
+    JsonArray stepsJson = new JsonArray();
+    for (Step step : steps) {
+      JsonObject stepJson = new JsonObject();
+      stepJson.addProperty("Target_Rate", TimeUtils.formatThroughput(step.targetRate()));
+      stepJson.addProperty("Achieved_Rate", TimeUtils.formatThroughput(step.achievedRate()));
+      stepJson.add("Latency", step.latencies().toJson());
+      stepJson.add("Service_Time", step.serviceTimes().toJson());
+      stepsJson.add(stepJson);
+    }
+    json.add("Steps", stepsJson);
+    return json;
+  }
+
+  public record Step(double targetRate, double achievedRate, LatencyHistogram latencies, LatencyHistogram serviceTimes) {
+  }
+
+}
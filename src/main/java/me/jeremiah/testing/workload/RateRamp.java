@@ -0,0 +1,39 @@
+package me.jeremiah.testing.workload;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class RateRamp {
+
+  private final Workload workload;
+  private double startRate = 1_000;
+  private double rateMultiplier = 1.5;
+  private double maxRate = 1_000_000;
+  private Duration stepDuration = Duration.ofSeconds(10);
+  private Duration latencyBound = Duration.ofMillis(10);
+
+  public RateRamp(Workload workload) {
+    this.workload = workload;
+  }
+
+  public RateRamp setStartRate(double startRate) {
+    if (startRate <= 0)
+      throw new IllegalArgumentException("Start rate must be positive");
+    this.startRate = startRate;
+    return this;
+  }
+
+  public RateRamp setRateMultiplier(double rateMultiplier) {
+    if (rateMultiplier <= 1)
+      throw new IllegalArgumentException("Rate multiplier must be greater than 1");
+    this.rateMultiplier = rateMultiplier;
+    return this;
+  }
+
+}
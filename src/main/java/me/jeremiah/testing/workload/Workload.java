@@ -0,0 +1,78 @@
+package me.jeremiah.testing.workload;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import me.jeremiah.testing.KeyDistribution;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class Workload {
+
+  // Core workloads from the YCSB paper (Cooper et al., 2010)
+  public static Workload workloadA() {
+    return new Workload("A").setProportion(OperationType.READ, 0.5).setProportion(OperationType.UPDATE, 0.5);
+  }
+
+  public static Workload workloadB() {
+    return new Workload("B").setProportion(OperationType.READ, 0.95).setProportion(OperationType.UPDATE, 0.05);
+  }
+
+  public static Workload workloadC() {
+    return new Workload("C").setProportion(OperationType.READ, 1);
+  }
+
+  public static Workload workloadD() {
+    return new Workload("D").setProportion(OperationType.READ, 0.95).setProportion(OperationType.INSERT, 0.05)
+      .setKeyDistribution(KeyDistribution.latest(0.99));
+  }
+
+  public static Workload workloadE() {
+    return new Workload("E").setProportion(OperationType.SCAN, 0.95).setProportion(OperationType.INSERT, 0.05);
+  }
+
+  public static Workload workloadF() {
+    return new Workload("F").setProportion(OperationType.READ, 0.5).setProportion(OperationType.READ_MODIFY_WRITE, 0.5);
+  }
+
+  private final String name;
+  private final Map<OperationType, Double> proportions = new EnumMap<>(OperationType.class);
+  private KeyDistribution keyDistribution = KeyDistribution.zipfian(0.99);
+  private int recordCount = 10_000;
+  private long operationCount = 100_000;
+  private Duration duration;
+  private int maxScanLength = 100;
+
+  public Workload(String name) {
+    this.name = name;
+  }
+
+  public Workload setProportion(OperationType type, double proportion) {
+    if (proportion < 0)
+      throw new IllegalArgumentException("Proportions cannot be negative");
+    proportions.put(type, proportion);
+    return this;
+  }
+
+  public OperationType choose(RandomGenerator random) {
+    double total = 0;
+    for (double proportion : proportions.values())
+      total += proportion;
+    if (total <= 0)
+      throw new IllegalStateException("Workload " + name + " has no operations");
+    double point = random.nextDouble(total);
+    for (Map.Entry<OperationType, Double> proportion : proportions.entrySet()) {
+      point -= proportion.getValue();
+      if (point < 0)
+        return proportion.getKey();
+    }
+    return proportions.keySet().iterator().next();
+  }
+
+}
@@ -0,0 +1,138 @@
+package me.jeremiah.testing.workload;
+
+import me.jeremiah.Entry;
+import me.jeremiah.databases.Database;
+import me.jeremiah.testing.KeyDistribution;
+import me.jeremiah.testing.LatencyHistogram;
+import me.jeremiah.testing.TestSettings;
+import me.jeremiah.testing.WorkerGroup;
+import me.jeremiah.utils.EntryGenerator;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+public class WorkloadEngine {
+
+  private final Database database;
+  private final Workload workload;
+  private final TestSettings settings;
+  private final EntryGenerator generator;
+
+  public WorkloadEngine(Database database, Workload workload, TestSettings settings) {
+    if (workload.getOperationCount() <= 0 && workload.getDuration() == null)
+      throw new IllegalArgumentException("Workload " + workload.getName() + " needs an operation count or a duration");
+    this.database = database;
+    this.workload = workload;
+    this.settings = settings;
+    this.generator = new EntryGenerator(settings.getSeed());
+  }
+
+  public void load() {
+    System.out.printf("Loading %d records for Workload %s%n", workload.getRecordCount(), workload.getName());
+    try (WorkerGroup workers = new WorkerGroup(database, settings)) {
+      workers.run(workload.getRecordCount(), settings.getBatchSize(),
+        (_, from, to) -> generator.generate(from, to, 0),
+        (_, _, _, batch) -> database.insert(batch));
+    }
+  }
+
+  // Rewrites every loaded record in batches, then reads them all back by id and with a full select; these are the
+  // phases batch and fetch sizes act on, which the single-entry operations of run() never reach. Returns the entries
+  // handled
+  public long bulk() {
+    System.out.printf("Rewriting and reading back %d records for Workload %s%n", workload.getRecordCount(), workload.getName());
+    int recordCount = workload.getRecordCount();
+    try (WorkerGroup workers = new WorkerGroup(database, settings)) {
+      workers.run(recordCount, settings.getBatchSize(),
+        (_, from, to) -> generator.generate(from, to, 1),
+        (_, _, _, batch) -> database.update(batch));
+      workers.run(recordCount, settings.getBatchSize(),
+        (_, from, to) -> IntStream.range(from, to).toArray(),
+        (_, _, _, ids) -> database.selectByIds(ids));
+    }
+    return 2L * recordCount + database.select().size();
+  }
+
+  public WorkloadResult run() {
+    System.out.printf("Starting Workload %s on %s%n", workload.getName(), database.getName());
+    int recordCount = workload.getRecordCount();
+    KeyDistribution.KeyChooser chooser = workload.getKeyDistribution().chooser(0, recordCount);
+    boolean followsInserts = workload.getKeyDistribution().followsInserts();
+    AtomicInteger nextId = new AtomicInteger(recordCount);
+    AtomicLong remaining = new AtomicLong(workload.getOperationCount() > 0 ? workload.getOperationCount() : Long.MAX_VALUE);
+
+    List<Map<OperationType, LatencyHistogram>> workerLatencies = new ArrayList<>();
+    long start;
+    long duration;
+    try (WorkerGroup workers = new WorkerGroup(database, settings)) {
+      for (int worker = 0; worker < workers.size(); worker++) {
+        Map<OperationType, LatencyHistogram> latencies = new EnumMap<>(OperationType.class);
+        for (OperationType type : workload.getProportions().keySet())
+          latencies.put(type, new LatencyHistogram());
+        workerLatencies.add(latencies);
+      }
+
+      start = System.nanoTime();
+      long deadline = workload.getDuration() == null ? Long.MAX_VALUE : start + workload.getDuration().toNanos();
+      RandomGenerator[] randoms = workers.randoms(settings.getSeed());
+      workers.execute(worker -> {
+        Map<OperationType, LatencyHistogram> latencies = workerLatencies.get(worker);
+        RandomGenerator random = randoms[worker];
+        while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+          OperationType type = workload.choose(random);
+          int id = chooser.next(random) + (followsInserts ? nextId.get() - recordCount : 0);
+          latencies.get(type).record(perform(type, id, random, nextId));
+        }
+      });
+      duration = System.nanoTime() - start;
+    }
+
+    Map<OperationType, LatencyHistogram> merged = new EnumMap<>(OperationType.class);
+    for (Map<OperationType, LatencyHistogram> latencies : workerLatencies)
+      latencies.forEach((type, histogram) -> merged.computeIfAbsent(type, _ -> new LatencyHistogram()).add(histogram));
+    WorkloadResult result = new WorkloadResult(workload, duration, merged);
+    result.print();
+    return result;
+  }
+
+  long perform(OperationType type, int id, RandomGenerator random, AtomicInteger nextId) {
+    long start;
+    switch (type) {
+      case READ -> {
+        start = System.nanoTime();
+        database.select(id, id + 1);
+      }
+      case UPDATE -> {
+        Entry entry = new Entry(id, random);
+        start = System.nanoTime();
+        database.update(entry);
+      }
+      case INSERT -> {
+        Entry entry = new Entry(nextId.getAndIncrement(), random);
+        start = System.nanoTime();
+        database.insert(entry);
+      }
+      case REMOVE -> {
+        start = System.nanoTime();
+        database.remove(id);
+      }
+      case SCAN -> {
+        int length = random.nextInt(1, workload.getMaxScanLength() + 1);
+        start = System.nanoTime();
+        database.select(id, id + length);
+      }
+      case READ_MODIFY_WRITE -> {
+        Entry entry = new Entry(id, random);
+        start = System.nanoTime();
+        database.select(id, id + 1);
+        database.update(entry);
+      }
+      default -> throw new IllegalStateException("Unknown operation type: " + type);
+    }
+    return System.nanoTime() - start;
+  }
+
+}
@@ -0,0 +1,62 @@
+package me.jeremiah.testing.workload;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import me.jeremiah.testing.LatencyHistogram;
+import me.jeremiah.utils.TimeUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+public class WorkloadResult {
+
+  private final Workload workload;
+  private final long duration;
+  private final Map<OperationType, LatencyHistogram> latencies;
+
+  public WorkloadResult(Workload workload, long duration, Map<OperationType, LatencyHistogram> latencies) {
+    this.workload = workload;
+    this.duration = duration;
+    this.latencies = new EnumMap<>(latencies);
+  }
+
+  public long getOperations() {
+    return latencies.values().stream().mapToLong(LatencyHistogram::getTotalCount).sum();
+  }
+
+  public double getThroughput() {
+    return TimeUtils.opsPerSecond(getOperations(), duration);
+  }
+
+  public double getThroughput(OperationType type) {
+    LatencyHistogram histogram = latencies.get(type);
+    return histogram == null ? 0 : TimeUtils.opsPerSecond(histogram.getTotalCount(), duration);
+  }
+
+  public void print() {
+    System.out.printf("Completed Workload %s in %s (%s)%n", workload.getName(), TimeUtils.formatTime(duration), TimeUtils.formatThroughput(getThroughput()));
+    latencies.forEach((type, histogram) ->
+      System.out.printf("  %s: %s, p50 %s, p99 %s%n",
+        type.getName(),
+        TimeUtils.formatThroughput(getThroughput(type)),
+        TimeUtils.formatTime(histogram.getValueAtPercentile(50)),
+        TimeUtils.formatTime(histogram.getValueAtPercentile(99))));
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    json.addProperty("Key_Distribution", workload.getKeyDistribution().getName());
+    json.addProperty("Record_Count", workload.getRecordCount());
+    json.addProperty("Duration", TimeUtils.formatTime(duration));
+    json.addProperty("Operations", getOperations());
+    json.addProperty("Throughput", TimeUtils.formatThroughput(getThroughput()));
+    latencies.forEach((type, histogram) -> {
+      JsonObject operation = histogram.toJson();
+      operation.addProperty("Throughput", TimeUtils.formatThroughput(getThroughput(type)));
+      json.add(type.getName(), operation);
+    });
+    return json;
+  }
+
+}
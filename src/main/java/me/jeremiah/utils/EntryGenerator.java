@@ -0,0 +1,39 @@
+package me.jeremiah.utils;
+
+import lombok.Getter;
+import me.jeremiah.Entry;
+
+import java.util.SplittableRandom;
+
+// Derives every entry from (seed, id, revision) alone, so any entry can be regenerated on demand from any thread
+@Getter
+public class EntryGenerator {
+
+  private final long seed;
+
+  public EntryGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  public Entry generate(int id) {
+    return generate(id, 0);
+  }
+
+  public Entry generate(int id, int revision) {
+    return new Entry(id, new SplittableRandom(mix(seed ^ mix(((long) revision << 32) | (id & 0xFFFFFFFFL)))));
+  }
+
+  public Entry[] generate(int fromId, int toId, int revision) {
+    Entry[] entries = new Entry[toId - fromId];
+    for (int i = 0; i < entries.length; i++)
+      entries[i] = generate(fromId + i, revision);
+    return entries;
+  }
+
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+
+}
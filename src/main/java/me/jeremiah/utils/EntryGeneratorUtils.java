@@ -1,11 +1,9 @@
 package me.jeremiah.utils;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class EntryGeneratorUtils {
 
-  private static final ThreadLocalRandom RANDOM = ThreadLocalRandom.current();
-
   private static final String[] FIRST_NAMES = {
     "Aaron", "Abby", "Acelyn", "Adam", "Adrian", "Aiden", "Ainsley", "Alana", "Alex", "Alexa",
     "Bella", "Ben", "Benny", "Bianca", "Bill", "Billy", "Bobby", "Bonnie", "Brad", "Bradley",
@@ -70,28 +68,28 @@ public class EntryGeneratorUtils {
     "Zamora", "Zapata", "Zaragoza", "Zavala", "Zayas", "Zeller", "Zepeda", "Zhang", "Zhao", "Zhou", "Zimmerman", "Zuniga"
   };
 
-  public static String generateFullName() {
-    return generateFirstName() + " " + generateMiddleInitial() + ". " + generateLastName();
+  public static String generateFullName(RandomGenerator random) {
+    return generateFirstName(random) + " " + generateMiddleInitial(random) + ". " + generateLastName(random);
   }
 
-  public static String generateFirstName() {
-    return FIRST_NAMES[RANDOM.nextInt(FIRST_NAMES.length)];
+  public static String generateFirstName(RandomGenerator random) {
+    return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
   }
 
-  public static char generateMiddleInitial() {
-    return MIDDLE_INITIALS[RANDOM.nextInt(MIDDLE_INITIALS.length)];
+  public static char generateMiddleInitial(RandomGenerator random) {
+    return MIDDLE_INITIALS[random.nextInt(MIDDLE_INITIALS.length)];
   }
 
-  public static String generateLastName() {
-    return LAST_NAMES[RANDOM.nextInt(LAST_NAMES.length)];
+  public static String generateLastName(RandomGenerator random) {
+    return LAST_NAMES[random.nextInt(LAST_NAMES.length)];
   }
 
-  public static int generateAge() {
-    return RANDOM.nextInt(13, 120);
+  public static int generateAge(RandomGenerator random) {
+    return random.nextInt(13, 120);
   }
 
-  public static double generateNetWorth() {
-    return RANDOM.nextDouble(-100_000_000_000.0, 100_000_000_000.0);
+  public static double generateNetWorth(RandomGenerator random) {
+    return random.nextDouble(-100_000_000_000.0, 100_000_000_000.0);
   }
 
 }
@@ -16,4 +16,13 @@ public class TimeUtils {
     return (duration / 60_000_000_000.0) + "m";
   }
 
+  public static double opsPerSecond(long operations, long duration) {
+    if (duration <= 0) return 0;
+    return operations * 1_000_000_000.0 / duration;
+  }
+
+  public static String formatThroughput(double opsPerSecond) {
+    return String.format("%.2f ops/s", opsPerSecond);
+  }
+
 }
\ No newline at end of file